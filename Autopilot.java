@@ -0,0 +1,340 @@
+package FlappyBird;
+
+import java.nio.ByteBuffer;
+import java.util.Locale;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Piloto automático: a cada tick procura, em paralelo, uma sequência de
+// pula/não-pula que sobreviva `horizon` ticks à frente, clonando o mundo pelo
+// snapshot do GameSim (física, canos e spawns futuros da mesma semente).
+// Busca em profundidade com os primeiros ticks divididos entre as tarefas de um
+// ForkJoinPool (work-stealing); estados mortos (tick, y, velocidade) vão para
+// uma tabela compartilhada — os canos não dependem do bird, então o mesmo
+// estado do bird no mesmo tick de jogo tem o mesmo futuro, e um estado morto
+// continua morto nos ticks seguintes (a tabela vale a partida inteira). Sem
+// prova de sobrevivência até o prazo, segue o caminho que foi mais longe; o
+// plano (achado ou parcial) é tentado primeiro no tick seguinte, então a busca
+// continua de onde parou.
+//
+// Uso: java FlappyBird.Autopilot [--ticks=20000] [--budgetMs=4] [--horizon=300] [--threads=N] [--seed=N] [--gap=N]
+final class Autopilot implements Policy {
+    private static final int SPLIT = 3;            // ticks divididos entre as tarefas (2^3 ramos)
+    private static final int MEMO_BITS = 17, MEMO_PROBES = 16;
+
+    final int horizon;
+    final long budgetNs;
+    private final ForkJoinPool pool;
+    private final ThreadLocal<Worker> workers;
+
+    // Busca atual (escrita pela thread do jogo antes de submeter; lida pelas tarefas)
+    private byte[] rootBytes = new byte[4096];
+    private int rootLen;
+    private long deadline;
+    private final byte[] plan, found;
+    private int planLen, foundLen;
+    private final AtomicBoolean stop = new AtomicBoolean(), solved = new AtomicBoolean();
+    private final byte[] partial;                          // caminho vivo mais longo (sem prova)
+    private int partialLen;
+    private final AtomicLongArray dead = new AtomicLongArray(1 << MEMO_BITS);
+    private final AtomicInteger deadUsed = new AtomicInteger();
+    private long deadSeed, deadTick;                       // partida e tick de jogo da tabela
+
+    // Métricas
+    final AtomicLong nodes = new AtomicLong();
+    final LatencyHistogram decisionTime = new LatencyHistogram();
+    volatile long decisions, timeouts, misses, searchNs; // escritas só pela thread do jogo; o HUD lê
+
+    Autopilot(GameConfig cfg, QuestionBank bank, int horizon, long budgetNs, int threads) {
+        this.horizon = horizon;
+        this.budgetNs = budgetNs;
+        this.pool = new ForkJoinPool(threads);
+        this.workers = ThreadLocal.withInitial(() -> new Worker(cfg, bank));
+        this.plan = new byte[horizon];
+        this.found = new byte[horizon];
+        this.partial = new byte[horizon];
+    }
+
+    // -Dflappy.autopilot.budgetMs (padrão 4), .horizon (300 ticks), .threads (nº de núcleos)
+    static Autopilot fromSystemProperties(GameConfig cfg, QuestionBank bank) {
+        double budgetMs = Double.parseDouble(System.getProperty("flappy.autopilot.budgetMs", "4"));
+        return new Autopilot(cfg, bank, Integer.getInteger("flappy.autopilot.horizon", 300), (long) (budgetMs * 1_000_000),
+            Integer.getInteger("flappy.autopilot.threads", Runtime.getRuntime().availableProcessors()));
+    }
+
+    void shutdown() { pool.shutdownNow(); }
+
+    // ---------- Decisão (thread do jogo) ----------
+    @Override public int input(GameSim s) {
+        if (s.gameOver) return 0;
+        if (s.inQuiz) { // o quiz ocupa um tick do plano (resposta certa)
+            if (planLen > 0) System.arraycopy(plan, 1, plan, 0, --planLen);
+            return GameSim.answerInput(s.correctIdx);
+        }
+        long t0 = System.nanoTime();
+
+        int need = s.stateBytes();
+        if (need > rootBytes.length) rootBytes = new byte[Math.max(need, rootBytes.length * 2)];
+        ByteBuffer rb = ByteBuffer.wrap(rootBytes);
+        s.writeState(rb);
+        rootLen = rb.position();
+
+        // Outra partida (ou volta no tempo) invalida a tabela; cheia demais, recomeça
+        if (s.seed != deadSeed || s.playTicks < deadTick || deadUsed.get() > (1 << MEMO_BITS) / 2) {
+            for (int i = 0; i < dead.length(); i++) dead.lazySet(i, 0);
+            deadUsed.set(0);
+            deadSeed = s.seed;
+            planLen = 0;
+        }
+        deadTick = s.playTicks;
+        stop.set(false);
+        solved.set(false);
+        partialLen = 0;
+        deadline = t0 + budgetNs * 9 / 10; // folga para juntar as tarefas
+
+        ForkJoinTask<?> task = pool.submit(new Branch(0, 0));
+        try {
+            task.get(budgetNs, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            stop.set(true);
+            task.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stop.set(true);
+            task.join();
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("autopilot search failed", e.getCause());
+        }
+
+        int action;
+        if (solved.get()) {
+            action = found[0];
+            planLen = foundLen - 1;
+            System.arraycopy(found, 1, plan, 0, planLen);
+        } else if (partialLen > 0) {
+            timeouts++;
+            action = partial[0];
+            planLen = partialLen - 1;
+            System.arraycopy(partial, 1, plan, 0, planLen);
+        } else {
+            timeouts++;
+            action = HEURISTIC.input(s) & GameSim.IN_FLAP; // toda ação morre no próximo tick
+            planLen = 0;
+        }
+
+        long ns = System.nanoTime() - t0;
+        decisions++;
+        searchNs += ns;
+        if (ns > budgetNs) misses++;
+        decisionTime.record(ns);
+        return action;
+    }
+
+    double nodesPerSecond() { return searchNs == 0 ? 0 : nodes.get() * 1e9 / searchNs; }
+
+    // Decisões sem sequência sobrevivente até o horizonte dentro do prazo
+    double timeoutRate() { return decisions == 0 ? 0 : (double) timeouts / decisions; }
+
+    // Decisões entregues depois do orçamento do tick
+    double deadlineMissRate() { return decisions == 0 ? 0 : (double) misses / decisions; }
+
+    void resetStats() {
+        nodes.set(0);
+        decisionTime.reset();
+        decisions = 0; timeouts = 0; misses = 0; searchNs = 0;
+    }
+
+    // ---------- Busca ----------
+    // Fixa as ações dos primeiros SPLIT ticks (bits de prefix) e divide ao meio; o lado do plano vai primeiro
+    @SuppressWarnings("serial")
+    private final class Branch extends RecursiveAction {
+        final int prefix, depth;
+
+        Branch(int prefix, int depth) { this.prefix = prefix; this.depth = depth; }
+
+        @Override protected void compute() {
+            if (depth == SPLIT) { workers.get().search(prefix); return; }
+            int first = (depth < planLen) ? plan[depth] : 0;
+            invokeAll(new Branch(prefix | first << depth, depth + 1), new Branch(prefix | (first ^ 1) << depth, depth + 1));
+        }
+    }
+
+    private final class Worker {
+        final GameSim sim;
+        private ByteBuffer root = ByteBuffer.wrap(rootBytes);
+        private ByteBuffer[] levels = new ByteBuffer[0];
+        private final byte[] path = new byte[horizon], deepestPath = new byte[horizon];
+        private long count, checks;
+        private int deepest;
+        private boolean aborted;
+
+        Worker(GameConfig cfg, QuestionBank bank) { sim = new GameSim(cfg, bank, 0); }
+
+        void search(int prefix) {
+            if (stop.get() || solved.get()) return;
+            if (root.array() != rootBytes) root = ByteBuffer.wrap(rootBytes);
+            if (levels.length == 0 || levels[0].capacity() < rootLen + 512) { // o estado cresce com os spawns da busca
+                levels = new ByteBuffer[horizon];
+                for (int i = 0; i < horizon; i++) levels[i] = ByteBuffer.allocate(rootBytes.length + 1024);
+            }
+            root.clear().limit(rootLen);
+            sim.readState(root);
+            count = 0; deepest = 0; aborted = false;
+
+            boolean onPlan = true;
+            int d = 0;
+            for (; d < SPLIT && d < horizon; d++) {
+                int act = (prefix >>> d) & 1;
+                onPlan &= d < planLen && plan[d] == act;
+                path[d] = (byte) act;
+                if (sim.inQuiz) {
+                    if (act != 0) return; // ramo repetido: no quiz só há a resposta
+                    sim.step(GameSim.answerInput(sim.correctIdx));
+                } else {
+                    sim.step(act);
+                }
+                count++;
+                if (sim.gameOver) break;
+            }
+            if (!sim.gameOver && dfs(d, onPlan)) succeed();
+            else offerPartial(deepestPath, deepest);
+            nodes.addAndGet(count);
+        }
+
+        // true = chegou vivo ao horizonte
+        private boolean dfs(int depth, boolean onPlan) {
+            if (depth > deepest) { deepest = depth; System.arraycopy(path, 0, deepestPath, 0, depth); }
+            if (depth >= horizon) return true;
+            if (sim.inQuiz) { // o mundo só pausa: responde certo e segue
+                path[depth] = 0;
+                sim.step(GameSim.answerInput(sim.correctIdx));
+                count++;
+                return dfs(depth + 1, onPlan);
+            }
+            if ((++checks & 31) == 0 && (stop.get() || solved.get() || System.nanoTime() - deadline > 0)) {
+                aborted = true;
+                return false;
+            }
+            ByteBuffer saved = levels[depth];
+            saved.clear();
+            sim.writeState(saved);
+            saved.flip();
+            int first = (onPlan && depth < planLen) ? plan[depth] : (HEURISTIC.input(sim) & GameSim.IN_FLAP);
+            for (int a = 0; a < 2; a++) {
+                int act = (a == 0) ? first : first ^ 1;
+                if (a == 1) { saved.rewind(); sim.readState(saved); }
+                sim.step(act);
+                count++;
+                if (sim.gameOver) continue;
+                path[depth] = (byte) act;
+                long key = key();
+                if (isDead(key)) continue;
+                if (dfs(depth + 1, onPlan && a == 0)) return true;
+                if (aborted) return false;
+                markDead(key);
+            }
+            return false;
+        }
+
+        private void succeed() {
+            if (!solved.compareAndSet(false, true)) return;
+            System.arraycopy(path, 0, found, 0, horizon);
+            foundLen = horizon;
+        }
+
+        // Tick de jogo (não o relativo à raiz): a entrada vale para as próximas decisões
+        private long key() {
+            long h = BatchSim.mix(sim.seed * 0x9E3779B97F4A7C15L + sim.playTicks);
+            h = BatchSim.mix(h ^ sim.birdY);
+            h = BatchSim.mix(h ^ Double.doubleToRawLongBits(sim.birdVel));
+            return h == 0 ? 1 : h;
+        }
+    }
+
+    private synchronized void offerPartial(byte[] p, int len) {
+        if (len <= partialLen) return;
+        System.arraycopy(p, 0, partial, 0, len);
+        partialLen = len;
+    }
+
+    private boolean isDead(long key) {
+        int mask = dead.length() - 1;
+        for (int i = 0, k = (int) key & mask; i < MEMO_PROBES; i++, k = (k + 1) & mask) {
+            long v = dead.get(k);
+            if (v == key) return true;
+            if (v == 0) return false;
+        }
+        return false;
+    }
+
+    private void markDead(long key) {
+        int mask = dead.length() - 1;
+        for (int i = 0, k = (int) key & mask; i < MEMO_PROBES; i++, k = (k + 1) & mask) {
+            long v = dead.get(k);
+            if (v == key) return;
+            if (v == 0 && dead.compareAndSet(k, 0, key)) { deadUsed.incrementAndGet(); return; }
+        }
+    }
+
+    // ---------- Benchmark headless ----------
+    public static void main(String[] args) {
+        Locale.setDefault(Locale.ROOT);
+        GameConfig cfg = new GameConfig();
+        long ticks = 20_000, seed = 1;
+        double budgetMs = 4;
+        int horizon = 300, threads = Runtime.getRuntime().availableProcessors();
+        int gap = cfg.gapMin;
+        for (String a : args) {
+            if (a.startsWith("--ticks=")) ticks = Long.parseLong(a.substring(8));
+            else if (a.startsWith("--budgetMs=")) budgetMs = Double.parseDouble(a.substring(11));
+            else if (a.startsWith("--horizon=")) horizon = Integer.parseInt(a.substring(10));
+            else if (a.startsWith("--threads=")) threads = Integer.parseInt(a.substring(10));
+            else if (a.startsWith("--seed=")) seed = Long.parseLong(a.substring(7));
+            else if (a.startsWith("--gap=")) gap = Integer.parseInt(a.substring(6));
+            else throw new IllegalArgumentException("unknown option: " + a);
+        }
+        // Começa (e fica) no vão mais estreito
+        cfg.gapStart = gap;
+        cfg.gapMin = gap;
+
+        QuestionBank bank = QuestionBank.fromSystemProperty();
+        Autopilot pilot = new Autopilot(cfg, bank, horizon, (long) (budgetMs * 1_000_000), threads);
+        GameSim sim = new GameSim(cfg, bank, seed);
+        System.out.printf("Autopilot: vão %d, horizonte %d ticks, orçamento %.1f ms, %d thread(s)%n", gap, horizon, budgetMs, threads);
+
+        // Aquecimento do JIT fora das métricas
+        for (int i = 0; i < 600 && !sim.gameOver; i++) sim.step(pilot.input(sim));
+        sim.reset(seed);
+        pilot.resetStats();
+
+        int deaths = 0, bestScore = 0;
+        long t0 = System.nanoTime();
+        for (long t = 0; t < ticks; t++) {
+            if (sim.gameOver) {
+                deaths++;
+                System.out.printf("  morreu no tick %d (score %d, quiz %s)%n", sim.tick, sim.score, sim.quizFailed ? "errado" : "ok");
+                sim.reset(sim.seed + 1);
+            }
+            sim.step(pilot.input(sim));
+            bestScore = Math.max(bestScore, sim.score);
+            if ((t + 1) % 5000 == 0) System.out.printf("  %d ticks, score %d, %.2f M nós/s%n", t + 1, sim.score, pilot.nodesPerSecond() / 1e6);
+        }
+        double secs = (System.nanoTime() - t0) / 1e9;
+        pilot.shutdown();
+
+        System.out.println("---- resultado ----");
+        System.out.printf("ticks                 %d em %.1f s (mortes %d, melhor score %d)%n", ticks, secs, deaths, bestScore);
+        System.out.printf("nós                   %.2f M/s (%d no total)%n", pilot.nodesPerSecond() / 1e6, pilot.nodes.get());
+        System.out.printf("decisão               %s%n", pilot.decisionTime.summaryMs());
+        System.out.printf("sem prova no prazo    %.2f%%%n", pilot.timeoutRate() * 100);
+        System.out.printf("prazo perdido         %.2f%% (> %.1f ms)%n", pilot.deadlineMissRate() * 100, budgetMs);
+    }
+}
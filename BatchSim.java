@@ -0,0 +1,238 @@
+package FlappyBird;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Roda lotes de partidas headless com semente para balancear as regras.
+// Varre uma grade de parâmetros e gera distribuições de sobrevivência e
+// pontuação por configuração (CSV). O resultado de cada partida depende só
+// de (seed, configuração, índice), nunca do número de threads.
+//
+// Uso: java FlappyBird.BatchSim --games=100000 --gapMin=150,168 --gravity=0.5,0.55 --out=grid.csv
+//   Parâmetros da grade: gapStart gapMin gapStep marginMin spacingMin spacingMax
+//                        gravity jumpPower difficultyEveryMs (listas separadas por vírgula)
+//   Outros: --games=N --seed=N --maxTicks=N --threads=N --out=arquivo.csv
+final class BatchSim {
+    static final String[] GRID_PARAMS = {
+        "gapStart", "gapMin", "gapStep", "marginMin", "spacingMin", "spacingMax",
+        "gravity", "jumpPower", "difficultyEveryMs"
+    };
+
+    // Resultado de uma configuração da grade
+    static final class Result {
+        final GameConfig cfg;
+        final int[] survivalTicks, scores;
+        Result(GameConfig cfg, int games) {
+            this.cfg = cfg;
+            this.survivalTicks = new int[games];
+            this.scores = new int[games];
+        }
+    }
+
+    final List<GameConfig> configs;
+    final int games;
+    final long seed;
+    final int maxTicks;
+    final Policy policy;
+
+    BatchSim(List<GameConfig> configs, int games, long seed, int maxTicks, Policy policy) {
+        this.configs = configs;
+        this.games = games;
+        this.seed = seed;
+        this.maxTicks = maxTicks;
+        this.policy = policy;
+    }
+
+    // Semente de cada partida: função pura de (seed, configuração, partida)
+    static long gameSeed(long seed, int configIdx, int gameIdx) {
+        return mix(mix(seed ^ mix(configIdx + 1L)) + gameIdx);
+    }
+
+    // Finalizador do SplitMix64
+    static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    List<Result> run(ForkJoinPool pool) {
+        List<Result> results = new ArrayList<>();
+        for (GameConfig c : configs) results.add(new Result(c, games));
+        pool.invoke(new Chunk(results, 0, configs.size() * games));
+        return results;
+    }
+
+    // Divide o espaço (configuração x partida) ao meio até virar lote pequeno
+    @SuppressWarnings("serial")
+    private final class Chunk extends RecursiveAction {
+        static final int LEAF = 64;
+        final List<Result> results;
+        final int lo, hi;
+
+        Chunk(List<Result> results, int lo, int hi) { this.results = results; this.lo = lo; this.hi = hi; }
+
+        @Override protected void compute() {
+            if (hi - lo <= LEAF) { playRange(); return; }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new Chunk(results, lo, mid), new Chunk(results, mid, hi));
+        }
+
+        private void playRange() {
+            GameSim sim = null;
+            int simCfg = -1;
+            for (int i = lo; i < hi; i++) {
+                int c = i / games, g = i % games;
+                if (c != simCfg) { sim = new GameSim(configs.get(c), 0); simCfg = c; }
+                sim.reset(gameSeed(seed, c, g));
+                while (!sim.gameOver && sim.playTicks < maxTicks) sim.step(policy.input(sim));
+                Result r = results.get(c);
+                r.survivalTicks[g] = (int) sim.playTicks;
+                r.scores[g] = sim.score;
+            }
+        }
+    }
+
+    // ---------- Estatística ----------
+    static int percentile(int[] sorted, double p) {
+        if (sorted.length == 0) return 0;
+        int i = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, i))];
+    }
+
+    static double mean(int[] v) {
+        long sum = 0;
+        for (int x : v) sum += x;
+        return v.length == 0 ? 0 : (double) sum / v.length;
+    }
+
+    static void writeCsv(List<Result> results, int maxTicks, PrintStream out) {
+        StringBuilder h = new StringBuilder();
+        for (String p : GRID_PARAMS) h.append(p).append(',');
+        h.append("games,survival_s_mean,survival_s_p10,survival_s_p50,survival_s_p90,survival_s_p99,capped_pct,")
+         .append("score_mean,score_p10,score_p50,score_p90,score_p99,score_max");
+        out.println(h);
+        for (Result r : results) {
+            int[] surv = r.survivalTicks.clone();
+            int[] sc = r.scores.clone();
+            Arrays.sort(surv);
+            Arrays.sort(sc);
+            int capped = 0;
+            for (int t : surv) if (t >= maxTicks) capped++;
+            double tickS = r.cfg.tickMs() / 1000.0;
+            StringBuilder line = new StringBuilder();
+            for (String p : GRID_PARAMS) line.append(param(r.cfg, p)).append(',');
+            line.append(surv.length).append(',')
+                .append(String.format("%.2f,%.2f,%.2f,%.2f,%.2f,%.2f,", mean(surv) * tickS,
+                    percentile(surv, 10) * tickS, percentile(surv, 50) * tickS,
+                    percentile(surv, 90) * tickS, percentile(surv, 99) * tickS,
+                    100.0 * capped / Math.max(1, surv.length)))
+                .append(String.format("%.2f,%d,%d,%d,%d,%d", mean(sc),
+                    percentile(sc, 10), percentile(sc, 50), percentile(sc, 90), percentile(sc, 99),
+                    sc.length == 0 ? 0 : sc[sc.length - 1]));
+            out.println(line);
+        }
+    }
+
+    // ---------- Grade de parâmetros ----------
+    static String param(GameConfig c, String name) {
+        switch (name) {
+            case "gapStart": return Integer.toString(c.gapStart);
+            case "gapMin": return Integer.toString(c.gapMin);
+            case "gapStep": return Integer.toString(c.gapStep);
+            case "marginMin": return Integer.toString(c.marginMin);
+            case "spacingMin": return Integer.toString(c.spacingMin);
+            case "spacingMax": return Integer.toString(c.spacingMax);
+            case "gravity": return Double.toString(c.gravity);
+            case "jumpPower": return Double.toString(c.jumpPower);
+            case "difficultyEveryMs": return Integer.toString(c.difficultyEveryMs);
+            default: throw new IllegalArgumentException("unknown parameter: " + name);
+        }
+    }
+
+    static void setParam(GameConfig c, String name, String v) {
+        switch (name) {
+            case "gapStart": c.gapStart = Integer.parseInt(v); break;
+            case "gapMin": c.gapMin = Integer.parseInt(v); break;
+            case "gapStep": c.gapStep = Integer.parseInt(v); break;
+            case "marginMin": c.marginMin = Integer.parseInt(v); break;
+            case "spacingMin": c.spacingMin = Integer.parseInt(v); break;
+            case "spacingMax": c.spacingMax = Integer.parseInt(v); break;
+            case "gravity": c.gravity = Double.parseDouble(v); break;
+            case "jumpPower": c.jumpPower = Double.parseDouble(v); break;
+            case "difficultyEveryMs": c.difficultyEveryMs = Integer.parseInt(v); break;
+            default: throw new IllegalArgumentException("unknown parameter: " + name);
+        }
+    }
+
+    // Produto cartesiano dos valores de cada parâmetro
+    static List<GameConfig> grid(GameConfig base, List<String> names, List<String[]> values) {
+        List<GameConfig> out = new ArrayList<>();
+        out.add(base.copy());
+        for (int p = 0; p < names.size(); p++) {
+            List<GameConfig> next = new ArrayList<>();
+            for (GameConfig c : out) {
+                for (String v : values.get(p)) {
+                    GameConfig n = c.copy();
+                    setParam(n, names.get(p), v.trim());
+                    next.add(n);
+                }
+            }
+            out = next;
+        }
+        return out;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Locale.setDefault(Locale.ROOT);
+        int games = 10_000, maxTicks = 60 * 60 * 5, threads = Runtime.getRuntime().availableProcessors();
+        long seed = 1;
+        String outFile = null;
+        List<String> names = new ArrayList<>();
+        List<String[]> values = new ArrayList<>();
+        for (String a : args) {
+            if (!a.startsWith("--") || a.indexOf('=') < 0) throw new IllegalArgumentException("expected --name=value: " + a);
+            String k = a.substring(2, a.indexOf('=')), v = a.substring(a.indexOf('=') + 1);
+            switch (k) {
+                case "games": games = Integer.parseInt(v); break;
+                case "maxTicks": maxTicks = Integer.parseInt(v); break;
+                case "threads": threads = Integer.parseInt(v); break;
+                case "seed": seed = Long.parseLong(v); break;
+                case "out": outFile = v; break;
+                default:
+                    param(new GameConfig(), k); // valida o nome
+                    names.add(k);
+                    values.add(v.split(","));
+            }
+        }
+
+        List<GameConfig> configs = grid(new GameConfig(), names, values);
+        BatchSim batch = new BatchSim(configs, games, seed, maxTicks, Policy.HEURISTIC);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long t0 = System.nanoTime();
+        List<Result> results = batch.run(pool);
+        double sec = (System.nanoTime() - t0) / 1e9;
+        pool.shutdown();
+
+        long ticks = 0;
+        for (Result r : results) for (int t : r.survivalTicks) ticks += t;
+        System.err.printf("%d configurações x %d partidas em %.2f s (%d threads): %.0f partidas/s, %.1f Mticks/s%n",
+            configs.size(), games, sec, threads, configs.size() * (double) games / sec, ticks / sec / 1e6);
+
+        if (outFile == null) {
+            writeCsv(results, maxTicks, System.out);
+        } else {
+            try (PrintStream ps = new PrintStream(Files.newOutputStream(Paths.get(outFile)), false, StandardCharsets.UTF_8.name())) {
+                writeCsv(results, maxTicks, ps);
+            }
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package FlappyBird;
+
+import java.awt.Rectangle;
+
+// Regiões que mudaram desde o último quadro desenhado (EDT). Guarda a geometria
+// desenhada por último (bird, canos, modo) e, para cada snapshot novo, lista os
+// retângulos a repintar: posição antiga + nova do bird, só as faixas das bordas
+// de cada cano que andou (o corpo é uniforme na horizontal) e tela cheia nas
+// trocas de modo (quiz, game over). Quiz e game over parados não geram nada.
+final class DamageTracker {
+    private static final int MAX_RECTS = 32;
+    // Folga para o antialiasing e para a coluna extra do tile do cano
+    private static final int PAD = 2;
+    // Deslocamento máximo por quadro para casar um cano com o do quadro anterior
+    private static final int MAX_STEP = 48;
+
+    private final Rectangle[] rects = new Rectangle[MAX_RECTS];
+    private int count;
+    private long pixels;
+    private int W, H;
+    private boolean full = true;
+
+    // Geometria do último quadro desenhado
+    private boolean valid;
+    private int birdY;
+    private boolean gameOver, inQuiz;
+    private Question question;
+    private int pipeCount;
+    private final int[] x = new int[GameSim.PIPE_CAPACITY];
+    private final int[] topH = new int[GameSim.PIPE_CAPACITY];
+    private final int[] botY = new int[GameSim.PIPE_CAPACITY];
+
+    DamageTracker() {
+        for (int i = 0; i < MAX_RECTS; i++) rects[i] = new Rectangle();
+    }
+
+    // Próximo quadro repinta o painel inteiro (resize, F3, primeira exibição)
+    void invalidateAll() { full = true; }
+
+    // Começa um quadro: compara o snapshot com o último desenhado e guarda o novo
+    void begin(WorldSnapshot w, int width, int height) {
+        count = 0;
+        pixels = 0;
+        if (width != W || height != H) { W = width; H = height; full = true; }
+        if (!valid || w.gameOver != gameOver || w.inQuiz != inQuiz || w.question != question) full = true;
+
+        int by = w.lerp(w.prevBirdY, w.birdY);
+        if (!full) {
+            if (by != birdY) {
+                int top = Math.min(by, birdY), h = Math.abs(by - birdY) + GameSim.BIRD_H;
+                add(w.birdX - PAD, top - PAD, GameSim.BIRD_W + 10 + 2 * PAD, h + 2 * PAD);
+            }
+            damagePipes(w);
+        }
+
+        valid = true;
+        birdY = by;
+        gameOver = w.gameOver; inQuiz = w.inQuiz; question = w.question;
+        for (int i = 0, n = w.pipeCount; i < n; i++) {
+            x[i] = w.lerp(w.lastX[i], w.x[i]); topH[i] = w.topH[i]; botY[i] = w.botY[i];
+        }
+        pipeCount = w.pipeCount;
+    }
+
+    // Canos só entram no fim e saem do começo: casa em ordem pela abertura e pela distância
+    private void damagePipes(WorldSnapshot w) {
+        int j = 0;
+        for (int i = 0, n = w.pipeCount; i < n; i++) {
+            int cx = w.lerp(w.lastX[i], w.x[i]);
+            int k = j;
+            while (k < pipeCount && !(topH[k] == w.topH[i] && botY[k] == w.botY[i] && Math.abs(x[k] - cx) <= MAX_STEP)) k++;
+            if (k == pipeCount) { addColumn(cx); continue; }
+            for (; j < k; j++) addColumn(x[j]); // saíram
+            j = k + 1;
+            int px = x[k];
+            if (px == cx) continue;
+            int lo = Math.min(px, cx), d = Math.abs(px - cx);
+            add(lo - PAD, 0, d + 2 * PAD + 1, H);
+            add(lo + GameSim.PIPE_W - PAD, 0, d + 2 * PAD + 2, H);
+        }
+        for (; j < pipeCount; j++) addColumn(x[j]);
+    }
+
+    private void addColumn(int px) {
+        add(px - PAD, 0, GameSim.PIPE_W + 2 * PAD + 2, H);
+    }
+
+    // Junta com um retângulo existente quando a união não cobre mais que os dois separados
+    void add(int rx, int ry, int rw, int rh) {
+        if (full) return;
+        int x0 = Math.max(0, rx), y0 = Math.max(0, ry);
+        int x1 = Math.min(W, rx + rw), y1 = Math.min(H, ry + rh);
+        if (x1 <= x0 || y1 <= y0) return;
+        for (int i = 0; i < count; i++) {
+            Rectangle r = rects[i];
+            int ux0 = Math.min(x0, r.x), uy0 = Math.min(y0, r.y);
+            int ux1 = Math.max(x1, r.x + r.width), uy1 = Math.max(y1, r.y + r.height);
+            if ((long) (ux1 - ux0) * (uy1 - uy0) <= (long) (x1 - x0) * (y1 - y0) + (long) r.width * r.height) {
+                r.setBounds(ux0, uy0, ux1 - ux0, uy1 - uy0);
+                return;
+            }
+        }
+        if (count == MAX_RECTS) { full = true; return; }
+        rects[count++].setBounds(x0, y0, x1 - x0, y1 - y0);
+    }
+
+    // Fecha o quadro: tela cheia vira um retângulo só
+    void end() {
+        if (full) {
+            full = false;
+            count = 1;
+            rects[0].setBounds(0, 0, W, H);
+        }
+        pixels = 0;
+        for (int i = 0; i < count; i++) pixels += (long) rects[i].width * rects[i].height;
+    }
+
+    int count() { return count; }
+
+    Rectangle rect(int i) { return rects[i]; }
+
+    // Pixels repintados no quadro (sobreposições contam duas vezes)
+    long pixels() { return pixels; }
+}
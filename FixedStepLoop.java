@@ -0,0 +1,98 @@
+package FlappyBird;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.BooleanSupplier;
+import java.util.function.DoubleConsumer;
+
+// Laço de passo fixo: a física roda em ticks de duração constante (acumulador)
+// e o desenho recebe alpha = fração do próximo tick já decorrida, para interpolar.
+// O ritmo dos quadros segue prazos absolutos (sem deriva): dorme até perto do
+// prazo e termina com espera ativa curta.
+final class FixedStepLoop {
+    private static final long SPIN_NS = 1_500_000L;  // últimos 1,5 ms em espera ativa
+    private static final int MAX_TICKS_PER_FRAME = 5;
+
+    final int tickHz, fps;
+    private final long tickNs, frameNs;
+
+    // Estatísticas (escritas só pela thread do laço)
+    private volatile long ticks, frames, missedTicks, lateFrames;
+    private volatile double frameMsAvg, frameMsMax, jitterMsAvg;
+    private double windowMax;
+    private long windowStart;
+
+    FixedStepLoop(int tickHz, int fps) {
+        if (tickHz <= 0 || fps <= 0) throw new IllegalArgumentException("tickHz and fps must be positive");
+        this.tickHz = tickHz;
+        this.fps = fps;
+        this.tickNs = 1_000_000_000L / tickHz;
+        this.frameNs = 1_000_000_000L / fps;
+    }
+
+    void run(BooleanSupplier running, Runnable tick, DoubleConsumer frame) {
+        long prev = System.nanoTime();
+        long acc = 0;
+        long deadline = prev + frameNs;
+        long lastFrame = prev;
+        windowStart = prev;
+        while (running.getAsBoolean()) {
+            long now = System.nanoTime();
+            acc += now - prev;
+            prev = now;
+
+            // Física: quantos ticks couberem, com teto para não entrar em espiral
+            int steps = 0;
+            while (acc >= tickNs && steps < MAX_TICKS_PER_FRAME) {
+                tick.run();
+                acc -= tickNs;
+                steps++;
+            }
+            if (acc >= tickNs) {
+                missedTicks += acc / tickNs;
+                acc %= tickNs;
+            }
+            ticks += steps;
+
+            frame.accept((double) acc / tickNs);
+
+            // Espera até o prazo do próximo quadro
+            pace(deadline);
+            long end = System.nanoTime();
+            recordFrame(end - lastFrame, end);
+            lastFrame = end;
+            deadline += frameNs;
+            if (end - deadline > frameNs) deadline = end + frameNs; // atrasou demais: recomeça a grade
+        }
+    }
+
+    private static void pace(long deadline) {
+        long remaining;
+        while ((remaining = deadline - System.nanoTime()) > SPIN_NS) {
+            LockSupport.parkNanos(remaining - SPIN_NS);
+        }
+        while (deadline - System.nanoTime() > 0) Thread.onSpinWait();
+    }
+
+    private void recordFrame(long periodNs, long now) {
+        double ms = periodNs / 1_000_000.0;
+        double jitter = Math.abs(periodNs - frameNs) / 1_000_000.0;
+        frames++;
+        if (periodNs > frameNs + SPIN_NS) lateFrames++;
+        frameMsAvg = (frameMsAvg == 0.0) ? ms : frameMsAvg * 0.95 + ms * 0.05;
+        jitterMsAvg = jitterMsAvg * 0.95 + jitter * 0.05;
+        windowMax = Math.max(windowMax, ms);
+        if (now - windowStart >= 1_000_000_000L) {
+            frameMsMax = windowMax;
+            windowMax = 0;
+            windowStart = now;
+        }
+    }
+
+    long ticks() { return ticks; }
+    long frames() { return frames; }
+    long missedTicks() { return missedTicks; }
+    long lateFrames() { return lateFrames; }
+    double frameMsAvg() { return frameMsAvg; }
+    double frameMsMax() { return frameMsMax; }   // pior quadro no último segundo
+    double jitterMsAvg() { return jitterMsAvg; }
+}
@@ -0,0 +1,349 @@
+package FlappyBird;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Microbenchmarks dos caminhos quentes (tick, colisão, spawn, quiz, desenho).
+// Modo vazão no estilo JMH: aquecimento + iterações medidas, com ops/s e
+// taxa de alocação (equivalente a -prof gc: gc.alloc.rate e gc.alloc.rate.norm).
+//
+// Uso: java -Djava.awt.headless=true FlappyBird.FlappyBench [filtro...]
+//   -Dbench.warmup=N  iterações de aquecimento (padrão 3)
+//   -Dbench.iter=N    iterações medidas (padrão 5)
+//   -Dbench.time=MS   duração de cada iteração (padrão 1000)
+final class FlappyBench {
+    interface Op { long run(); }
+
+    private static final int WARMUP = Integer.getInteger("bench.warmup", 3);
+    private static final int ITER = Integer.getInteger("bench.iter", 5);
+    private static final long ITER_NS = Long.getLong("bench.time", 1000L) * 1_000_000L;
+    private static final int BATCH = 256;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    // Painéis de benchmark sem placar (não abrem nem gravam o placar do usuário)
+    private static final CompletableFuture<ScoreStore> NO_SCORES = CompletableFuture.completedFuture(null);
+
+    static volatile long sink; // blackhole
+
+    private final List<String> filters = new ArrayList<>();
+
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        Locale.setDefault(Locale.ROOT);
+        if (args.length > 0 && args[0].equals("--verify-alloc")) {
+            System.exit(verifyZeroAlloc() ? 0 : 1);
+        }
+        if (args.length > 0 && args[0].equals("--snapshot-stress")) {
+            System.exit(snapshotStress(Long.getLong("bench.stressMs", 3000L)) ? 0 : 1);
+        }
+        FlappyBench b = new FlappyBench();
+        for (String a : args) b.filters.add(a);
+        System.out.printf("%-28s %14s %10s %12s %12s%n", "Benchmark", "ops/s", "error", "MB/s alloc", "B/op");
+        b.runAll();
+    }
+
+    private void runAll() {
+        // ---------- Tick ----------
+        for (int n : new int[]{0, 4, 16, 64}) {
+            GameSim s = simWithPipes(n);
+            bench("update.pipes" + n, () -> { keepAlive(s); s.update(); return s.birdY; });
+            LegacyWorld lw = new LegacyWorld(n);
+            bench("update.cow.pipes" + n + " (original)", () -> { lw.keepAlive(); lw.update(); return lw.birdY; });
+        }
+        GameSim stepSim = new GameSim(new GameConfig(), 42);
+        bench("step.autoplay", () -> {
+            if (stepSim.gameOver) stepSim.reset(stepSim.seed + 1);
+            stepSim.step(Policy.HEURISTIC.input(stepSim));
+            return stepSim.tick;
+        });
+        GameSim recSim = new GameSim(new GameConfig(), 42);
+        ReplayRecorder rec = new ReplayRecorder();
+        rec.begin(recSim);
+        bench("step.autoplay.recorded", () -> {
+            if (recSim.gameOver) { recSim.reset(recSim.seed + 1); rec.begin(recSim); }
+            int in = Policy.HEURISTIC.input(recSim);
+            rec.record(recSim, in);
+            recSim.step(in);
+            return recSim.tick;
+        });
+
+        // ---------- Colisão ----------
+        GameSim cs = simWithPipes(1);
+        int ck = cs.pipes.slot(0);
+        cs.pipes.x[ck] = cs.birdX;
+        LegacyPipe cp = new LegacyPipe();
+        cp.x = cs.birdX; cp.gapY = cs.pipes.gapY[ck]; cp.gapH = cs.pipes.gapH[ck];
+        int[] ys = {cp.gapY - 10, 0, cs.H - 60, cp.gapY - cp.gapH/2 - 5};
+        bench("collides", () -> {
+            cs.birdY = ys[(int) (sink & 3)];
+            boolean hit = cs.collides(ck);
+            return hit ? ++sink : sink++;
+        });
+        bench("collides.rect (original)", () -> {
+            cs.birdY = ys[(int) (sink & 3)];
+            boolean hit = LegacyWorld.collides(cs.birdX, cs.birdY, cp, cs.H);
+            return hit ? ++sink : sink++;
+        });
+
+        // ---------- Spawn ----------
+        GameSim sp = new GameSim(new GameConfig(), 7);
+        bench("trySpawnPipe", () -> {
+            sp.pipes.clear();
+            sp.trySpawnPipe();
+            return sp.pipes.size;
+        });
+
+        // ---------- Quiz ----------
+        GameSim qs = new GameSim(new GameConfig(), 11);
+        bench("triggerQuiz", () -> {
+            qs.triggerQuiz();
+            qs.inQuiz = false;
+            return qs.correctIdx;
+        });
+
+        // ---------- Desenho ----------
+        paintBench("paint.play", false, true);
+        paintBench("paint.play.vector", false, false);
+        paintBench("paint.quiz", true, true);
+        paintBench("paint.quiz.vector", true, false);
+        frameBench("paint.frame.dirty", true);
+        frameBench("paint.frame.full", false);
+    }
+
+    // Regime estacionário do tick não pode alocar: aquece, depois conta bytes
+    // alocados pela thread ao longo de muitas partidas. Sai com código 1 se alocar.
+    static boolean verifyZeroAlloc() {
+        GameSim s = new GameSim(new GameConfig(), 3);
+        Op op = () -> {
+            if (s.gameOver) s.reset(s.seed + 1);
+            s.step(Policy.HEURISTIC.input(s));
+            return s.tick;
+        };
+        for (int i = 0; i < 2_000_000; i++) sink += op.run();
+        long tid = Thread.currentThread().getId();
+        long before = THREADS.getThreadAllocatedBytes(tid);
+        long acc = 0;
+        for (int i = 0; i < 5_000_000; i++) acc += op.run();
+        long bytes = THREADS.getThreadAllocatedBytes(tid) - before;
+        sink += acc;
+        System.out.printf("verify-alloc: %d bytes em 5000000 ticks (%s)%n", bytes, bytes == 0 ? "OK" : "FALHOU");
+        return bytes == 0;
+    }
+
+    private void paintBench(String name, boolean quiz, boolean cached) {
+        if (!selected(name)) return;
+        GamePanel panel = new GamePanel(900, 540, NO_SCORES);
+        panel.setRenderCacheEnabled(cached);
+        GameSim s = panel.simulation();
+        fillPipes(s, 4);
+        if (quiz) s.triggerQuiz();
+        panel.publishFrame(1.0);
+        BufferedImage img = new BufferedImage(900, 540, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        bench(name, () -> { panel.paintComponent(g); return img.getRGB(450, 270); });
+        g.dispose();
+    }
+
+    // Quadro completo em movimento: tick autoplay + publish + dano + paint de cada retângulo
+    private void frameBench(String name, boolean dirty) {
+        if (!selected(name)) return;
+        GamePanel panel = new GamePanel(900, 540, NO_SCORES);
+        panel.setSize(900, 540);
+        panel.setDirtyRectsEnabled(dirty);
+        GameSim s = panel.simulation();
+        BufferedImage img = new BufferedImage(900, 540, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        long[] frames = new long[1], pixels = new long[1];
+        bench(name, () -> {
+            if (s.gameOver) s.reset(s.seed + 1);
+            s.step(Policy.HEURISTIC.input(s));
+            panel.publishFrame(1.0);
+            int n = panel.prepareFrame(System.nanoTime());
+            for (int i = 0; i < n; i++) {
+                g.setClip(panel.damageRect(i));
+                panel.paintComponent(g);
+            }
+            frames[0]++;
+            pixels[0] += panel.damagePixels();
+            return img.getRGB(450, 270);
+        });
+        g.dispose();
+        System.out.printf("%-28s %13.1f%% do painel por quadro%n", "", 100.0 * pixels[0] / frames[0] / (900 * 540));
+    }
+
+    // ---------- Harness ----------
+    private boolean selected(String name) {
+        if (filters.isEmpty()) return true;
+        for (String f : filters) if (name.contains(f)) return true;
+        return false;
+    }
+
+    private void bench(String name, Op op) {
+        if (!selected(name)) return;
+        for (int i = 0; i < WARMUP; i++) measure(op);
+        double[] rates = new double[ITER];
+        double bytesPerOp = 0, allocRate = 0;
+        for (int i = 0; i < ITER; i++) {
+            double[] r = measure(op);
+            rates[i] = r[0];
+            bytesPerOp += r[1] / ITER;
+            allocRate += r[2] / ITER;
+        }
+        double mean = 0;
+        for (double r : rates) mean += r / ITER;
+        double var = 0;
+        for (double r : rates) var += (r - mean) * (r - mean);
+        double err = ITER > 1 ? 2.0 * Math.sqrt(var / (ITER - 1)) : 0; // ~IC 95%
+        System.out.printf("%-28s %14.0f %10.0f %12.2f %12.1f%n", name, mean, err, allocRate, bytesPerOp);
+    }
+
+    // {ops/s, bytes/op, MB/s}
+    private static double[] measure(Op op) {
+        long tid = Thread.currentThread().getId();
+        long ops = 0, acc = 0;
+        long a0 = THREADS.getThreadAllocatedBytes(tid);
+        long t0 = System.nanoTime(), t1;
+        do {
+            for (int i = 0; i < BATCH; i++) acc += op.run();
+            ops += BATCH;
+            t1 = System.nanoTime();
+        } while (t1 - t0 < ITER_NS);
+        long bytes = THREADS.getThreadAllocatedBytes(tid) - a0;
+        sink += acc;
+        double sec = (t1 - t0) / 1e9;
+        return new double[]{ops / sec, (double) bytes / ops, bytes / sec / (1024 * 1024)};
+    }
+
+    // Escritor publica sem parar snapshots cujos campos derivam todos de seq; o
+    // leitor confere cada um que adquire. Qualquer mistura de duas publicações
+    // (quadro rasgado) ou volta no tempo conta como falha.
+    static boolean snapshotStress(long millis) {
+        TripleBuffer<WorldSnapshot> tb = new TripleBuffer<>(WorldSnapshot::new);
+        java.util.concurrent.atomic.AtomicBoolean stop = new java.util.concurrent.atomic.AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            long seq = 0;
+            while (!stop.get()) {
+                WorldSnapshot w = tb.writeBuffer();
+                seq++;
+                w.seq = seq;
+                w.tick = seq * 3;
+                w.birdY = (int) seq;
+                w.score = (int) (seq >>> 1);
+                int n = 1 + (int) (seq % 16);
+                for (int i = 0; i < n; i++) { w.x[i] = (int) seq + i; w.lastX[i] = (int) seq - i; }
+                w.pipeCount = n;
+                tb.publish();
+            }
+        }, "stress-writer");
+        writer.start();
+        long reads = 0, fresh = 0, torn = 0, backwards = 0, lastSeq = 0;
+        long end = System.nanoTime() + millis * 1_000_000L;
+        while (System.nanoTime() < end) {
+            WorldSnapshot w = tb.acquire();
+            long seq = w.seq;
+            reads++;
+            if (seq == 0) continue;
+            if (seq < lastSeq) backwards++;
+            if (seq != lastSeq) fresh++;
+            lastSeq = seq;
+            boolean ok = w.tick == seq * 3 && w.birdY == (int) seq && w.score == (int) (seq >>> 1)
+                && w.pipeCount == 1 + (int) (seq % 16);
+            for (int i = 0; ok && i < w.pipeCount; i++) ok = w.x[i] == (int) seq + i && w.lastX[i] == (int) seq - i;
+            if (!ok) torn++;
+        }
+        stop.set(true);
+        try { writer.join(); } catch (InterruptedException ignored) {}
+        System.out.printf("snapshot-stress: %d leituras, %d snapshots novos, %d rasgados, %d fora de ordem (%s)%n",
+            reads, fresh, torn, backwards, (torn == 0 && backwards == 0) ? "OK" : "FALHOU");
+        return torn == 0 && backwards == 0;
+    }
+
+    // ---------- Fixtures ----------
+    static GameSim simWithPipes(int n) {
+        GameSim s = new GameSim(new GameConfig(), 1);
+        fillPipes(s, n);
+        return s;
+    }
+
+    // n canos igualmente espaçados, reciclados à direita para o número ficar constante
+    static void fillPipes(GameSim s, int n) {
+        s.pipes.clear();
+        for (int i = 0; i < n; i++) {
+            s.pipes.add(s.birdX + i * (s.W + GameSim.PIPE_W) / Math.max(1, n), s.H / 2, s.GAP_H, 3 + (i & 1));
+        }
+    }
+
+    private static void keepAlive(GameSim s) {
+        s.birdY = s.H / 2; s.birdVel = 0; s.gameOver = false;
+        PipeRing r = s.pipes;
+        for (int i = 0; i < r.size; i++) {
+            int k = r.slot(i);
+            if (r.x[k] < 8) { r.x[k] += s.W + GameSim.PIPE_W; r.setScored(k, false); }
+        }
+        s.inQuiz = false;
+    }
+
+    // ---------- Implementação original (comparação) ----------
+    static final class LegacyPipe {
+        int x; int lastX; int gapY; int width = 70;
+        int gapH; int speed; boolean scored = false;
+        Rectangle topRect() { return new Rectangle(x, 0, width, Math.max(0, gapY - gapH/2)); }
+        Rectangle botRect(int H) { return new Rectangle(x, gapY + gapH/2, width, Math.max(0, H - (gapY + gapH/2))); }
+    }
+
+    // Laço de update de GamePanel antes do GameSim: CopyOnWriteArrayList + Rectangle por colisão
+    static final class LegacyWorld {
+        final int W = 900, H = 540, birdX = 140;
+        int birdY = H / 2; double birdVel; int score, hits;
+        final CopyOnWriteArrayList<LegacyPipe> pipes = new CopyOnWriteArrayList<>();
+
+        LegacyWorld(int n) {
+            for (int i = 0; i < n; i++) {
+                LegacyPipe p = new LegacyPipe();
+                p.x = birdX + i * (W + 70) / Math.max(1, n);
+                p.gapY = H / 2; p.gapH = 200; p.speed = 3 + (i & 1);
+                pipes.add(p);
+            }
+        }
+
+        // Repõe à direita o cano que sairia, como o spawner faria
+        void keepAlive() {
+            birdY = H / 2; birdVel = 0;
+            for (LegacyPipe p : pipes) {
+                if (p.x < 8) {
+                    pipes.remove(p);
+                    LegacyPipe q = new LegacyPipe();
+                    q.x = p.x + W + 70; q.gapY = p.gapY; q.gapH = p.gapH; q.speed = p.speed;
+                    pipes.add(q);
+                }
+            }
+        }
+
+        void update() {
+            birdVel += 0.55;
+            birdY += (int) Math.round(birdVel);
+            final int birdRefX = birdX + 17;
+            for (LegacyPipe pipe : pipes) {
+                pipe.lastX = pipe.x;
+                pipe.x -= pipe.speed; // dtMs fixo em 16,67
+                if (pipe.x + pipe.width < 0) { pipes.remove(pipe); continue; }
+                if (collides(birdX, birdY, pipe, H)) hits++;
+                int edgeBefore = pipe.lastX + pipe.width;
+                int edgeNow    = pipe.x + pipe.width;
+                if (!pipe.scored && edgeBefore >= birdRefX && edgeNow < birdRefX) { score++; pipe.scored = true; }
+            }
+        }
+
+        static boolean collides(int birdX, int birdY, LegacyPipe p, int H) {
+            Rectangle bird = new Rectangle(birdX, birdY, 34, 24);
+            return bird.intersects(p.topRect()) || bird.intersects(p.botRect(H));
+        }
+    }
+}
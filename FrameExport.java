@@ -0,0 +1,290 @@
+package FlappyBird;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.zip.CRC32C;
+import javax.imageio.ImageIO;
+
+// Exporta um replay como sequência de quadros, headless e determinístico: mesma
+// semente + entradas = mesmos bytes, com qualquer nº de threads. Pipeline limitado:
+//   simulação (1 thread) -> desenho (pool) -> codificação PNG/raw (pool) -> escrita em ordem (1 thread)
+// Os quadros em voo saem de um pool fixo; sem quadro livre a simulação espera
+// (contrapressão), e a escrita só avança no próximo índice, então a memória
+// fica em (2 * threads + 2) quadros.
+//
+// Uso: java -Djava.awt.headless=true FlappyBird.FrameExport <replay.fpr> <dir> [--format=png|raw] [--fps=60]
+//        [--from=tick] [--to=tick] [--tail=segundos] [--threads=N]
+//   raw grava dir/frames.rgb (rgb24), p.ex.: ffmpeg -f rawvideo -pix_fmt rgb24 -s 900x540 -r 60 -i frames.rgb clip.mp4
+final class FrameExport {
+    enum Format { PNG, RAW }
+
+    // Um quadro em voo: snapshot do mundo, imagem e bytes codificados (reaproveitados)
+    private static final class Frame {
+        final WorldSnapshot world = new WorldSnapshot();
+        final BufferedImage image;
+        final Bytes png = new Bytes();
+        final byte[] raw;
+        long index;
+        byte[] encoded;
+        int encodedLen;
+
+        Frame(int w, int h, Format format) {
+            image = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            raw = (format == Format.RAW) ? new byte[w * h * 3] : null;
+        }
+    }
+
+    // ByteArrayOutputStream sem a cópia do toByteArray
+    private static final class Bytes extends ByteArrayOutputStream {
+        Bytes() { super(256 * 1024); }
+        byte[] array() { return buf; }
+    }
+
+    final Replay replay;
+    final Path dir;
+    final Format format;
+    final int fps, threads;
+    final long from, to;
+    final int tailFrames;
+    final int W, H;
+
+    private final ThreadLocal<FrameRenderer> renderers;
+    private final ArrayBlockingQueue<Frame> free;
+    private final AtomicReferenceArray<Frame> done;
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private volatile long total = -1;
+    private Thread writer;
+
+    // Métricas: tempo ocupado por estágio (somado entre as threads) e espera da simulação
+    final AtomicLong simNs = new AtomicLong(), renderNs = new AtomicLong(), encodeNs = new AtomicLong();
+    final AtomicLong writeNs = new AtomicLong(), stallNs = new AtomicLong(), bytes = new AtomicLong();
+    long frames, elapsedNs, crc;
+
+    FrameExport(Replay replay, Path dir, Format format, int fps, long from, long to, int tailSeconds, int threads) {
+        this.replay = replay;
+        this.dir = dir;
+        this.format = format;
+        this.fps = fps;
+        this.from = Math.max(0, from);
+        this.to = Math.min(to, replay.endTick);
+        this.tailFrames = tailSeconds * fps;
+        this.threads = threads;
+        this.W = replay.cfg.width;
+        this.H = replay.cfg.height;
+        this.renderers = ThreadLocal.withInitial(() -> new FrameRenderer(W, H));
+        int inFlight = 2 * threads + 2;
+        this.free = new ArrayBlockingQueue<>(inFlight);
+        for (int i = 0; i < inFlight; i++) free.add(new Frame(W, H, format));
+        this.done = new AtomicReferenceArray<>(inFlight);
+    }
+
+    void run() throws IOException, InterruptedException {
+        if (from > to) throw new IllegalArgumentException("empty range: from=" + from + " to=" + to);
+        Files.createDirectories(dir);
+        ImageIO.setUseCache(false); // sem arquivo temporário por PNG
+        ExecutorService render = Executors.newFixedThreadPool(threads, daemon("export-render-"));
+        ExecutorService encode = Executors.newFixedThreadPool(threads, daemon("export-encode-"));
+        FileChannel rawOut = (format == Format.RAW) ? FileChannel.open(dir.resolve("frames.rgb"),
+            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING) : null;
+        CRC32C sum = new CRC32C();
+        writer = new Thread(() -> writeLoop(rawOut, sum), "export-writer");
+        writer.start();
+
+        long t0 = System.nanoTime();
+        try {
+            // ---------- Simulação ----------
+            GameSim sim = replay.newSim();
+            Replay.Cursor inputs = replay.seek(sim, from);
+            double ticksPerFrame = (double) replay.cfg.tickHz / fps;
+            long n = 0;
+            for (long count = (long) Math.floor((to - from) / ticksPerFrame) + 1 + tailFrames; n < count; n++) {
+                long w0 = System.nanoTime();
+                Frame f = null;
+                while (f == null && failure.get() == null) f = free.poll(100, TimeUnit.MILLISECONDS);
+                if (f == null) break;
+                long s0 = System.nanoTime();
+                stallNs.addAndGet(s0 - w0);
+
+                // Posição do quadro em ticks; o snapshot interpola entre o tick anterior e o alvo
+                double pos = Math.min(from + n * ticksPerFrame, to);
+                long target = (long) Math.ceil(pos);
+                while (sim.tick < target && !sim.gameOver) sim.step(inputs.inputAt(sim.tick));
+                f.index = n;
+                f.world.copyFrom(sim, n, 1.0 - (target - pos));
+                simNs.addAndGet(System.nanoTime() - s0);
+
+                Frame frame = f;
+                render.execute(() -> stage(() -> { render(frame); encode.execute(() -> stage(() -> encode(frame))); }));
+            }
+            total = n;
+            LockSupport.unpark(writer);
+            writer.join();
+        } finally {
+            if (total < 0) { fail(new InterruptedException("export aborted")); writer.join(); }
+            render.shutdownNow();
+            encode.shutdownNow();
+            if (rawOut != null) rawOut.close();
+        }
+        elapsedNs = System.nanoTime() - t0;
+        crc = sum.getValue();
+        Throwable t = failure.get();
+        if (t != null) throw new IOException("frame export failed", t);
+    }
+
+    private interface Stage { void run() throws Exception; }
+
+    private void stage(Stage s) {
+        if (failure.get() != null) return;
+        try {
+            s.run();
+        } catch (Throwable t) {
+            fail(t);
+        }
+    }
+
+    private void fail(Throwable t) {
+        failure.compareAndSet(null, t);
+        LockSupport.unpark(writer);
+    }
+
+    // ---------- Desenho (pool) ----------
+    private void render(Frame f) {
+        long t0 = System.nanoTime();
+        FrameRenderer r = renderers.get();
+        r.validate(null);
+        WorldSnapshot w = f.world;
+        Graphics2D g2 = f.image.createGraphics();
+        try {
+            r.paintWorld(g2, w);
+            g2.setColor(Color.WHITE);
+            g2.setFont(r.fBig);
+            g2.drawString("Score: " + w.score, 20, 40);
+            if (w.inQuiz) r.paintQuizOverlay(g2, w);
+            if (w.gameOver && !w.inQuiz) r.paintGameOver(g2, "GAME OVER", "Placar final: " + w.score);
+        } finally {
+            g2.dispose();
+        }
+        renderNs.addAndGet(System.nanoTime() - t0);
+    }
+
+    // ---------- Codificação (pool) ----------
+    private void encode(Frame f) throws IOException {
+        long t0 = System.nanoTime();
+        if (format == Format.PNG) {
+            f.png.reset();
+            if (!ImageIO.write(f.image, "png", f.png)) throw new IOException("no PNG writer available");
+            f.encoded = f.png.array();
+            f.encodedLen = f.png.size();
+        } else {
+            int[] px = ((DataBufferInt) f.image.getRaster().getDataBuffer()).getData();
+            byte[] out = f.raw;
+            for (int i = 0, o = 0; i < px.length; i++, o += 3) {
+                int c = px[i];
+                out[o] = (byte) (c >> 16); out[o + 1] = (byte) (c >> 8); out[o + 2] = (byte) c;
+            }
+            f.encoded = out;
+            f.encodedLen = out.length;
+        }
+        encodeNs.addAndGet(System.nanoTime() - t0);
+        done.set((int) (f.index % done.length()), f);
+        LockSupport.unpark(writer);
+    }
+
+    // ---------- Escrita em ordem (1 thread) ----------
+    private void writeLoop(FileChannel rawOut, CRC32C sum) {
+        long next = 0;
+        while (failure.get() == null) {
+            long n = total;
+            if (n >= 0 && next >= n) break;
+            int slot = (int) (next % done.length());
+            Frame f = done.get(slot);
+            if (f == null || f.index != next) { LockSupport.parkNanos(this, 1_000_000); continue; }
+            long t0 = System.nanoTime();
+            try {
+                ByteBuffer b = ByteBuffer.wrap(f.encoded, 0, f.encodedLen);
+                sum.update(f.encoded, 0, f.encodedLen);
+                if (rawOut != null) {
+                    while (b.hasRemaining()) rawOut.write(b);
+                } else {
+                    try (FileChannel ch = FileChannel.open(dir.resolve(String.format("frame-%06d.png", next)),
+                            StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                        while (b.hasRemaining()) ch.write(b);
+                    }
+                }
+            } catch (IOException e) {
+                fail(e);
+                return;
+            }
+            bytes.addAndGet(f.encodedLen);
+            writeNs.addAndGet(System.nanoTime() - t0);
+            done.set(slot, null);
+            free.offer(f); // libera a simulação
+            frames = ++next;
+        }
+    }
+
+    private static java.util.concurrent.ThreadFactory daemon(String prefix) {
+        AtomicInteger n = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, prefix + n.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    public static void main(String[] args) throws Exception {
+        System.setProperty("java.awt.headless", "true");
+        Locale.setDefault(Locale.ROOT);
+        if (args.length < 2) {
+            System.err.println("uso: FrameExport <replay.fpr> <dir> [--format=png|raw] [--fps=60] [--from=tick] [--to=tick] [--tail=s] [--threads=N]");
+            System.exit(2);
+        }
+        Format format = Format.PNG;
+        int fps = 60, tail = 1, threads = Runtime.getRuntime().availableProcessors();
+        long from = 0, to = Long.MAX_VALUE;
+        for (int i = 2; i < args.length; i++) {
+            String a = args[i];
+            if (a.startsWith("--format=")) format = Format.valueOf(a.substring(9).toUpperCase(Locale.ROOT));
+            else if (a.startsWith("--fps=")) fps = Integer.parseInt(a.substring(6));
+            else if (a.startsWith("--from=")) from = Long.parseLong(a.substring(7));
+            else if (a.startsWith("--to=")) to = Long.parseLong(a.substring(5));
+            else if (a.startsWith("--tail=")) tail = Integer.parseInt(a.substring(7));
+            else if (a.startsWith("--threads=")) threads = Integer.parseInt(a.substring(10));
+            else throw new IllegalArgumentException("unknown option: " + a);
+        }
+
+        Replay r = Replay.open(Paths.get(args[0]));
+        FrameExport ex = new FrameExport(r, Paths.get(args[1]), format, fps, from, to, tail, threads);
+        System.out.printf("FrameExport: %s ticks %d..%d a %d fps, %s, %d thread(s) por estágio%n",
+            args[0], ex.from, ex.to, fps, format.name().toLowerCase(Locale.ROOT), threads);
+        ex.run();
+
+        double secs = ex.elapsedNs / 1e9;
+        System.out.println("---- resultado ----");
+        System.out.printf("quadros              %d em %.2f s (%.1f quadros/s ponta a ponta)%n", ex.frames, secs, ex.frames / secs);
+        System.out.printf("saída                %.1f MB (crc32c %08x)%n", ex.bytes.get() / 1e6, ex.crc);
+        System.out.printf("ocupação por estágio simulação %.0f ms | desenho %.0f ms | codificação %.0f ms | escrita %.0f ms%n",
+            ex.simNs.get() / 1e6, ex.renderNs.get() / 1e6, ex.encodeNs.get() / 1e6, ex.writeNs.get() / 1e6);
+        System.out.printf("contrapressão        simulação esperou %.0f ms por quadro livre%n", ex.stallNs.get() / 1e6);
+    }
+}
@@ -0,0 +1,76 @@
+package FlappyBird;
+
+import java.awt.*;
+
+// Desenho de um WorldSnapshot: fundo, canos, bird, quiz e game over. Usado pelo
+// GamePanel (EDT) e pela exportação de quadros (um por thread: o cache de
+// sprites e o cartão do quiz não são compartilhados). Respeita o clip.
+final class FrameRenderer {
+    final int W, H;
+    final Font fBig = new Font("Segoe UI", Font.BOLD, 24);
+    final Font fSmall = new Font("Segoe UI", Font.PLAIN, 14);
+    final Font fTitle = new Font("Segoe UI", Font.BOLD, 28);
+
+    private final RenderCache renderCache = new RenderCache();
+    private final QuizCard quizCard = new QuizCard(fTitle, fBig, fSmall);
+    private GraphicsConfiguration gc;
+    boolean useRenderCache = !"false".equals(System.getProperty("flappy.renderCache"));
+
+    FrameRenderer(int width, int height) { this.W = width; this.H = height; }
+
+    // Chamar antes de cada quadro (recria o cache se o dispositivo mudou); null = headless
+    void validate(GraphicsConfiguration config) {
+        gc = config;
+        if (useRenderCache) renderCache.validate(W, H, config);
+    }
+
+    // Fundo, canos e bird (o que não cruza o clip nem é desenhado; hitClip não aloca)
+    void paintWorld(Graphics2D g2, WorldSnapshot w) {
+        g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        paintBg(g2);
+        for (int i = 0, n = w.pipeCount; i < n; i++) paintPipe(g2, w, i);
+        paintBird(g2, w);
+    }
+
+    void paintBg(Graphics2D g2) {
+        if (useRenderCache) renderCache.drawBackground(g2);
+        else RenderCache.paintBgVector(g2, W, H);
+    }
+
+    void paintPipe(Graphics2D g2, WorldSnapshot w, int i) {
+        int x = w.lerp(w.lastX[i], w.x[i]);
+        if (!g2.hitClip(x - 2, 0, GameSim.PIPE_W + 6, H)) return;
+        if (useRenderCache) {
+            renderCache.drawPipeRect(g2, x, 0, w.topH[i]);
+            renderCache.drawPipeRect(g2, x, w.botY[i], w.botH[i]);
+        } else {
+            RenderCache.paintPipeRectVector(g2, x, 0, GameSim.PIPE_W, w.topH[i]);
+            RenderCache.paintPipeRectVector(g2, x, w.botY[i], GameSim.PIPE_W, w.botH[i]);
+        }
+    }
+
+    void paintBird(Graphics2D g2, WorldSnapshot w) {
+        int y = w.lerp(w.prevBirdY, w.birdY);
+        if (!g2.hitClip(w.birdX - 2, y - 2, GameSim.BIRD_W + 14, GameSim.BIRD_H + 4)) return;
+        if (useRenderCache) renderCache.drawBird(g2, w.birdX, y);
+        else RenderCache.paintBirdVector(g2, w.birdX, y);
+    }
+
+    void paintQuizOverlay(Graphics2D g2, WorldSnapshot w) {
+        g2.setColor(QuizCard.DIM);
+        g2.fillRect(0, 0, W, H);
+        if (useRenderCache) quizCard.draw(g2, w, W, H, gc);
+        else quizCard.paintCard(g2, w.question, w.options, W, H);
+    }
+
+    // Título no centro e, se houver, uma linha embaixo (recorde, placar final)
+    void paintGameOver(Graphics2D g2, String title, String detail) {
+        g2.setColor(Color.WHITE);
+        g2.setFont(fTitle);
+        QuizCard.drawCentered(g2, title, W, H/2);
+        if (detail != null) {
+            g2.setFont(fBig);
+            QuizCard.drawCentered(g2, detail, W, H/2 + 40);
+        }
+    }
+}
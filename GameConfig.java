@@ -0,0 +1,74 @@
+package FlappyBird;
+
+import java.nio.ByteBuffer;
+
+// Parâmetros de regra do jogo. Valores padrão = jogo original.
+final class GameConfig {
+    // Tela
+    int width = 900;
+    int height = 540;
+
+    // Passo fixo da simulação
+    int tickHz = 60;
+
+    // Bird
+    double gravity = 0.55;
+    double jumpPower = -9.8;
+
+    // Regras de geração
+    int gapStart = 200;
+    int gapMin = 168;
+    int gapStep = 4;
+    int marginMin = 60;
+    int spacingMin = 260;
+    int spacingMax = 340;
+
+    // Cadência (tempo de jogo)
+    int spawnEveryMs = 120;
+    int difficultyEveryMs = 7000;
+    int quizEvery = 5;
+
+    // Filtro do quiz (0 = sem filtro): máscara de tópicos do banco e faixa de dificuldade 1..5
+    int quizTopics = 0;
+    int quizMinDifficulty = 0, quizMaxDifficulty = 0;
+
+    GameConfig copy() {
+        GameConfig c = new GameConfig();
+        c.width = width; c.height = height; c.tickHz = tickHz;
+        c.gravity = gravity; c.jumpPower = jumpPower;
+        c.gapStart = gapStart; c.gapMin = gapMin; c.gapStep = gapStep; c.marginMin = marginMin;
+        c.spacingMin = spacingMin; c.spacingMax = spacingMax;
+        c.spawnEveryMs = spawnEveryMs; c.difficultyEveryMs = difficultyEveryMs; c.quizEvery = quizEvery;
+        c.quizTopics = quizTopics; c.quizMinDifficulty = quizMinDifficulty; c.quizMaxDifficulty = quizMaxDifficulty;
+        return c;
+    }
+
+    static final int BYTES = 14 * 4 + 2 * 8;
+
+    void writeTo(ByteBuffer b) {
+        b.putInt(width).putInt(height).putInt(tickHz);
+        b.putDouble(gravity).putDouble(jumpPower);
+        b.putInt(gapStart).putInt(gapMin).putInt(gapStep).putInt(marginMin);
+        b.putInt(spacingMin).putInt(spacingMax);
+        b.putInt(spawnEveryMs).putInt(difficultyEveryMs).putInt(quizEvery);
+        b.putInt(quizTopics).putInt(quizMinDifficulty << 16 | quizMaxDifficulty);
+    }
+
+    static GameConfig readFrom(ByteBuffer b) {
+        GameConfig c = new GameConfig();
+        c.width = b.getInt(); c.height = b.getInt(); c.tickHz = b.getInt();
+        c.gravity = b.getDouble(); c.jumpPower = b.getDouble();
+        c.gapStart = b.getInt(); c.gapMin = b.getInt(); c.gapStep = b.getInt(); c.marginMin = b.getInt();
+        c.spacingMin = b.getInt(); c.spacingMax = b.getInt();
+        c.spawnEveryMs = b.getInt(); c.difficultyEveryMs = b.getInt(); c.quizEvery = b.getInt();
+        c.quizTopics = b.getInt();
+        int difficulty = b.getInt();
+        c.quizMinDifficulty = difficulty >>> 16; c.quizMaxDifficulty = difficulty & 0xFFFF;
+        return c;
+    }
+
+    double tickMs() { return 1000.0 / tickHz; }
+
+    // Converte um intervalo em ms para ticks (mínimo 1)
+    int ticks(int ms) { return Math.max(1, (int) Math.round(ms / tickMs())); }
+}
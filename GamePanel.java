@@ -0,0 +1,454 @@
+package FlappyBird;
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.KeyEvent;
+import java.awt.event.KeyListener;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+@SuppressWarnings("serial")
+class GamePanel extends JPanel implements KeyListener {
+    // Tela
+    private final int W, H;
+
+    // Simulação (regras do jogo vivem em GameSim)
+    private final GameSim sim;
+    // Entradas: EDT -> fila SPSC com carimbo -> aplicadas na fronteira do próximo tick
+    private final InputQueue inputs = new InputQueue(64);
+    // Latência tecla -> tela: carimbo da entrada mais antiga aplicada e ainda não desenhada
+    private long unshownInputAt;                 // thread do jogo
+    private volatile long shownInputAt;          // EDT: último carimbo já medido
+    private double inputToPhotonMs = 0.0;        // média móvel (EDT)
+
+    // Replay (-Dflappy.replayDir=dir grava cada partida em dir/run-<seed>.fpr)
+    private final Path replayDir;
+    private final ReplayRecorder recorder;
+    private boolean replaySaved;
+
+    // Piloto automático (P ou -Dflappy.autopilot=true): busca paralela com prazo por tick;
+    // ligado, ignora as teclas de jogo e reinicia sozinho 2 s depois do game over (modo demonstração)
+    private volatile boolean autopilotOn = Boolean.getBoolean("flappy.autopilot");
+    private volatile Autopilot autopilot;        // criado na thread do jogo no primeiro uso
+    private long gameOverTicks;
+
+    // Placar persistente (futuro: pode ainda estar abrindo; valor null = sem placar).
+    // Partidas em que o piloto automático jogou não entram no placar do jogador
+    private final CompletableFuture<ScoreStore> scores;
+    private final String player = System.getProperty("flappy.player", System.getProperty("user.name", "jogador"));
+    private boolean runSubmitted, pilotPlayed;
+    private ScoreStore.Run bestShown;
+    private String bestText;
+
+    // Threads: um só laço por painel; o reinício (R ou piloto automático) é um pedido
+    // que o próprio laço atende no início do tick seguinte
+    private Thread gameLoop;
+    private final AtomicBoolean running = new AtomicBoolean(false);
+    private final AtomicBoolean restartRequested = new AtomicBoolean();
+    private boolean loading; // EDT
+
+    // Passo fixo (-Dflappy.tickHz, -Dflappy.fps)
+    private final FixedStepLoop clock;
+
+    // Estado publicado para o EDT: a thread do jogo escreve, o desenho só lê o último completo
+    private final TripleBuffer<WorldSnapshot> snapshots = new TripleBuffer<>(WorldSnapshot::new);
+    private long publishSeq;
+
+    // Repintura por regiões: a thread do jogo só agenda (no máximo uma tarefa pendente);
+    // no EDT a tarefa pega o snapshot novo, calcula o dano e pinta só os retângulos.
+    // -Dflappy.dirtyRects=false repinta o painel inteiro a cada quadro (comparação)
+    private boolean dirtyRects = !"false".equals(System.getProperty("flappy.dirtyRects"));
+    private final DamageTracker damage = new DamageTracker();
+    private final AtomicBoolean paintPending = new AtomicBoolean();
+    private final Runnable paintTask = this::paintFrame;
+    private WorldSnapshot shown;          // snapshot que está na tela (EDT)
+    private double pixelsPerFrame = 0.0;  // média móvel dos pixels repintados por quadro
+
+    // FPS & Tick
+    private final AtomicLong frameCount = new AtomicLong(0);
+    private volatile double lastFps = 0.0;
+    private long lastFpsTime = System.nanoTime();
+
+    // Desenho (FrameRenderer: mesmo código da exportação de quadros) e tempo de paint por quadro
+    private final FrameRenderer renderer;
+    private double paintMs = 0.0; // média móvel
+
+    // HUD de depuração (F3): p50/p99/max por fase, texto refeito 4x por segundo
+    private boolean debugHud;
+    private static final Color DEBUG_BG = new Color(0, 0, 0, 160);
+    private final String[] debugLines = new String[Telemetry.NAMES.length];
+    private long debugLinesAt;
+    private static final int DEBUG_X = 20, DEBUG_Y = 132, DEBUG_W = 470, DEBUG_LINE_H = 16;
+    private long lastFrameAt;
+
+    // Fonts (as do HUD vêm do renderer)
+    private final Font fBig, fSmall;
+    private final Font fMono = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+
+    // Textos do HUD em cache (EDT)
+    private static final String HUD_CONTROLS = "Controles: Espaço/W/↑ p/ pular — R reinicia — P piloto automático — F3 depuração";
+    private int hudScore;
+    private long hudLastScoreAt, hudStatsAt;
+    private String hudScoreText, hudLastScoreText, hudStatsText, hudPilotText;
+    private FontMetrics hudFm, smallFm;
+
+    GamePanel(int width, int height, CompletableFuture<ScoreStore> scores) {
+        this.W = width; this.H = height;
+        this.scores = scores;
+        this.renderer = new FrameRenderer(W, H);
+        this.fBig = renderer.fBig; this.fSmall = renderer.fSmall;
+        GameConfig cfg = new GameConfig();
+        cfg.width = W; cfg.height = H;
+        cfg.tickHz = Integer.getInteger("flappy.tickHz", cfg.tickHz);
+        QuestionBank bank = QuestionBank.fromSystemProperty();
+        QuestionBank.applyFilterProperties(cfg, bank);
+        this.sim = new GameSim(cfg, bank, nextSeed());
+        if (Telemetry.ENABLED) sim.eventTime = Telemetry.histogram(Telemetry.EVENT);
+        this.clock = new FixedStepLoop(cfg.tickHz, Integer.getInteger("flappy.fps", 60));
+        String dir = System.getProperty("flappy.replayDir");
+        this.replayDir = (dir != null) ? Paths.get(dir) : null;
+        this.recorder = (dir != null) ? new ReplayRecorder() : null;
+        setPreferredSize(new Dimension(W, H));
+        setFocusable(true);
+        addKeyListener(this);
+        setBackground(new Color(8,10,24));
+        Startup.background(Telemetry::install); // fora do caminho crítico: JMX/JFR custam caro para subir
+    }
+
+    // -Dflappy.seed=N fixa a semente (partida reproduzível)
+    private static long nextSeed() {
+        Long fixed = Long.getLong("flappy.seed");
+        return (fixed != null) ? fixed : System.nanoTime();
+    }
+
+    void start() {
+        if (!running.compareAndSet(false, true)) return;
+        loading = false;
+        damage.invalidateAll(); // sai a tela de "Carregando…"
+        inputs.clear();
+        resetRun(); // o laço ainda não existe
+        publishFrame(1.0);
+
+        // Loop do jogo
+        gameLoop = new Thread(this::loop, "GameLoop");
+        gameLoop.start();
+    }
+
+    // EDT: descarta as teclas já enfileiradas e pede o reinício ao laço
+    private void restart() {
+        inputs.clear();
+        restartRequested.set(true);
+    }
+
+    // Nova partida (thread do jogo, ou antes de ela existir)
+    private void resetRun() {
+        unshownInputAt = 0;
+        sim.reset(nextSeed());
+        if (recorder != null) { recorder.begin(sim); replaySaved = false; }
+        runSubmitted = false;
+        pilotPlayed = false;
+        gameOverTicks = 0;
+    }
+
+    private void loop() {
+        clock.run(running::get, this::tick, this::frame);
+    }
+
+    private void tick() {
+        // Entradas acumuladas desde o último tick entram na fronteira do tick
+        long t0 = Telemetry.start();
+        if (restartRequested.getAndSet(false)) resetRun();
+        int input = inputs.drain();
+        long at = inputs.firstStampNs();
+        if (at != 0) {
+            if (unshownInputAt == 0) unshownInputAt = at;
+            if (Telemetry.ENABLED) Telemetry.record(Telemetry.INPUT, t0 - at);
+        }
+        if (autopilotOn && !sim.gameOver) {
+            if (autopilot == null) autopilot = Autopilot.fromSystemProperties(sim.cfg, sim.bank);
+            input = autopilot.input(sim);
+            pilotPlayed = true;
+        }
+        if (recorder != null && !sim.gameOver) recorder.record(sim, input);
+        sim.step(input);
+        Telemetry.end(Telemetry.TICK, t0);
+        if (recorder != null && sim.gameOver && !replaySaved) saveReplay();
+        if (sim.gameOver && !runSubmitted) {
+            runSubmitted = true;
+            if (!pilotPlayed) {
+                // Só enfileira; com o placar ainda abrindo, a partida espera no futuro (nunca neste laço)
+                ScoreStore.Run run = ScoreStore.Run.of(player, sim);
+                scores.thenAccept(s -> { if (s != null) s.submit(run); });
+            }
+        }
+        if (autopilotOn && sim.gameOver && ++gameOverTicks == 2L * sim.cfg.tickHz) restartRequested.set(true);
+    }
+
+    private void frame(double alpha) {
+        if (Telemetry.ENABLED) {
+            long now = System.nanoTime();
+            if (lastFrameAt != 0) Telemetry.record(Telemetry.FRAME, now - lastFrameAt);
+            lastFrameAt = now;
+        }
+        publishFrame(alpha);
+        requestPaint();
+        computeFps();
+    }
+
+    // Monta o arquivo na thread do jogo (só cópia de buffers); a escrita vai para outra thread
+    private void saveReplay() {
+        replaySaved = true;
+        byte[] image = recorder.finish(sim);
+        Path out = replayDir.resolve("run-" + sim.seed + ".fpr");
+        CompletableFuture.runAsync(() -> {
+            try {
+                Files.createDirectories(replayDir);
+                Files.write(out, image);
+            } catch (IOException e) {
+                System.err.println("Falha ao salvar replay " + out + ": " + e);
+            }
+        });
+    }
+
+    private void computeFps() {
+        frameCount.incrementAndGet();
+        long now = System.nanoTime();
+        if ((now - lastFpsTime) >= 1_000_000_000L) {
+            lastFps = frameCount.getAndSet(0);
+            lastFpsTime = now;
+        }
+    }
+
+    GameSim simulation() { return sim; }
+
+    FixedStepLoop clock() { return clock; }
+
+    // Copia o estado do último tick para o buffer livre e publica (thread do jogo)
+    void publishFrame(double alpha) {
+        if (unshownInputAt != 0 && shownInputAt == unshownInputAt) unshownInputAt = 0; // o EDT já desenhou
+        WorldSnapshot w = snapshots.writeBuffer();
+        w.copyFrom(sim, ++publishSeq, alpha);
+        w.inputAtNs = unshownInputAt;
+        snapshots.publish();
+    }
+
+    private void requestPaint() {
+        if (paintPending.compareAndSet(false, true)) EventQueue.invokeLater(paintTask);
+    }
+
+    private void queueInput(int bits) {
+        inputs.offer(bits, System.nanoTime());
+    }
+
+    // ---------- Entrada ----------
+    @Override public void keyPressed(KeyEvent e) {
+        if (e.getKeyCode() == KeyEvent.VK_F3) { debugHud = !debugHud; debugLinesAt = 0; damage.invalidateAll(); requestPaint(); return; }
+        if (e.getKeyCode() == KeyEvent.VK_P) { autopilotOn = !autopilotOn; hudStatsAt = 0; return; }
+        WorldSnapshot w = shown; // decide pelo que o jogador está vendo
+        if (!running.get() || w == null) return;
+
+        if (w.gameOver) {
+            if (e.getKeyCode() == KeyEvent.VK_R) restart();
+            return;
+        }
+
+        if (autopilotOn) return;
+
+        if (w.inQuiz) {
+            int kc = e.getKeyCode();
+            if (kc == KeyEvent.VK_1 || kc == KeyEvent.VK_NUMPAD1 || kc == KeyEvent.VK_A) queueInput(GameSim.answerInput(0));
+            else if (kc == KeyEvent.VK_2 || kc == KeyEvent.VK_NUMPAD2 || kc == KeyEvent.VK_B) queueInput(GameSim.answerInput(1));
+            else if (kc == KeyEvent.VK_3 || kc == KeyEvent.VK_NUMPAD3 || kc == KeyEvent.VK_C) queueInput(GameSim.answerInput(2));
+            else if (kc == KeyEvent.VK_4 || kc == KeyEvent.VK_NUMPAD4 || kc == KeyEvent.VK_D) queueInput(GameSim.answerInput(3));
+            return;
+        }
+
+        if (e.getKeyCode() == KeyEvent.VK_SPACE || e.getKeyCode() == KeyEvent.VK_W || e.getKeyCode() == KeyEvent.VK_UP) {
+            queueInput(GameSim.IN_FLAP);
+        }
+    }
+    @Override public void keyReleased(KeyEvent e) {}
+    @Override public void keyTyped(KeyEvent e) {}
+
+    // ---------- Desenho ----------
+    // Um quadro (EDT): snapshot novo -> textos do HUD -> dano -> paintImmediately por retângulo
+    private void paintFrame() {
+        paintPending.set(false);
+        long t0 = System.nanoTime();
+        int n = prepareFrame(t0);
+        for (int i = 0; i < n; i++) {
+            Rectangle r = damage.rect(i);
+            paintImmediately(r.x, r.y, r.width, r.height);
+        }
+        long px = damage.pixels();
+        pixelsPerFrame = (pixelsPerFrame == 0.0) ? px : pixelsPerFrame * 0.9 + px * 0.1;
+
+        // Primeiro quadro que reflete a entrada: mede tecla -> fim do desenho
+        long end = System.nanoTime();
+        WorldSnapshot w = shown;
+        if (w.inputAtNs != 0 && w.inputAtNs != shownInputAt) {
+            shownInputAt = w.inputAtNs;
+            if (n > 0) {
+                long lat = end - w.inputAtNs;
+                Telemetry.record(Telemetry.PHOTON, lat);
+                double latMs = lat / 1_000_000.0;
+                inputToPhotonMs = (inputToPhotonMs == 0.0) ? latMs : inputToPhotonMs * 0.8 + latMs * 0.2;
+            }
+        }
+        Startup.frame(end, end - t0, 1_000_000_000L / clock.fps);
+        if (n == 0) return; // nada mudou: nem paint
+        long ns = end - t0;
+        Telemetry.record(Telemetry.PAINT, ns);
+        double ms = ns / 1_000_000.0;
+        paintMs = (paintMs == 0.0) ? ms : paintMs * 0.9 + ms * 0.1;
+    }
+
+    // Pega o último snapshot e calcula o dano; devolve o nº de retângulos (damageRect)
+    int prepareFrame(long now) {
+        WorldSnapshot w = snapshots.acquire();
+        if (!dirtyRects) damage.invalidateAll();
+        damage.begin(w, getWidth(), getHeight());
+        shown = w;
+        updateHud(w, now);
+        damage.end();
+        return damage.count();
+    }
+
+    Rectangle damageRect(int i) { return damage.rect(i); }
+
+    long damagePixels() { return damage.pixels(); }
+
+    // Textos do HUD refeitos só quando o valor muda (a linha de estatísticas, 4x por segundo,
+    // congelada no quiz e no game over); cada texto que muda marca a sua caixa como dano
+    private void updateHud(WorldSnapshot w, long now) {
+        if (hudFm == null) { hudFm = getFontMetrics(fBig); smallFm = getFontMetrics(fSmall); }
+        if (w.score != hudScore || hudScoreText == null) {
+            String old = hudScoreText;
+            hudScore = w.score; hudScoreText = "Score: " + w.score;
+            damageText(hudFm, old, hudScoreText, 40);
+        }
+        boolean frozen = w.inQuiz || w.gameOver;
+        if (hudStatsText == null || (!frozen && now - hudStatsAt >= 250_000_000L)) {
+            String old = hudStatsText;
+            hudStatsAt = now;
+            hudStatsText = String.format(Locale.ROOT, "FPS: %.0f | Tick: %d | Paint: %.2f ms | Px/quadro: %.1f%% | Frame: %.1f/%.1f ms ±%.2f | Perdidos: %d | Tecla→tela: %.1f ms",
+                lastFps, w.tick, paintMs, pixelsPerFrame * 100.0 / ((long) W * H), clock.frameMsAvg(), clock.frameMsMax(), clock.jitterMsAvg(), clock.missedTicks(), inputToPhotonMs);
+            damageText(smallFm, old, hudStatsText, 60);
+
+            old = hudPilotText;
+            Autopilot ap = autopilot;
+            hudPilotText = (!autopilotOn || ap == null) ? null : String.format(Locale.ROOT,
+                "Piloto automático: %.2f M nós/s | decisão %s | sem prova %.2f%% | prazo perdido %.2f%%",
+                ap.nodesPerSecond() / 1e6, ap.decisionTime.summaryMs(), ap.timeoutRate() * 100, ap.deadlineMissRate() * 100);
+            if (old != null || hudPilotText != null) damageText(smallFm, old, hudPilotText == null ? "" : hudPilotText, 120);
+        }
+        if (w.lastScoreAtMs != hudLastScoreAt || hudLastScoreText == null) {
+            String old = hudLastScoreText;
+            hudLastScoreAt = w.lastScoreAtMs;
+            hudLastScoreText = "Último ponto em t= " + ((w.lastScoreAtMs < 0) ? "—" : w.lastScoreAtMs + " ms");
+            damageText(smallFm, old, hudLastScoreText, 100);
+        }
+        ScoreStore store = scores.getNow(null);
+        if (w.gameOver && store != null) {
+            ScoreStore.Run best = store.best();
+            if (best != null && best != bestShown) {
+                bestShown = best; bestText = "Recorde: " + best.score + " (" + best.player + ")";
+                damage.add(0, H/2, W, 60);
+            }
+        }
+        if (debugHud && refreshDebugLines(now)) damage.add(DEBUG_X - 9, DEBUG_Y - 5, DEBUG_W + 2, DEBUG_LINE_H * (debugLines.length + 1) + 10);
+    }
+
+    // Caixa do texto antigo ∪ novo, na linha de base y (x = 20)
+    private void damageText(FontMetrics fm, String old, String now, int y) {
+        int width = Math.max(old == null ? 0 : fm.stringWidth(old), fm.stringWidth(now));
+        damage.add(20 - 2, y - fm.getAscent() - 2, width + 4, fm.getAscent() + fm.getDescent() + 4);
+    }
+
+    // Janela já visível enquanto o JIT aquece (EDT; start() desliga)
+    void showLoading() { loading = true; }
+
+    private void paintLoading(Graphics2D g2) {
+        renderer.paintBg(g2);
+        g2.setColor(Color.WHITE);
+        g2.setFont(fBig);
+        QuizCard.drawCentered(g2, "Carregando…", W, H / 2);
+    }
+
+    @Override protected void paintComponent(Graphics g) {
+        // Sem super.paintComponent: o fundo cobre o painel inteiro. Respeita o clip:
+        // nos quadros normais só as regiões com dano chegam aqui
+        Graphics2D g2 = (Graphics2D) g;
+        renderer.validate(getGraphicsConfiguration());
+
+        if (loading) { paintLoading(g2); return; }
+        WorldSnapshot w = shown;
+        if (w == null) { w = shown = snapshots.acquire(); updateHud(w, System.nanoTime()); }
+        // O que não cruza o clip nem é desenhado (hitClip não aloca)
+        renderer.paintWorld(g2, w);
+
+        g2.setColor(Color.WHITE);
+        g2.setFont(fBig);
+        if (hitLine(g2, hudFm, 40)) g2.drawString(hudScoreText, 20, 40);
+        g2.setFont(fSmall);
+        if (hitLine(g2, smallFm, 60)) g2.drawString(hudStatsText, 20, 60);
+        if (hitLine(g2, smallFm, 80)) g2.drawString(HUD_CONTROLS, 20, 80);
+        if (hitLine(g2, smallFm, 100)) g2.drawString(hudLastScoreText, 20, 100);
+        if (hudPilotText != null && hitLine(g2, smallFm, 120)) g2.drawString(hudPilotText, 20, 120);
+
+        if (w.inQuiz) {
+            renderer.paintQuizOverlay(g2, w);
+        }
+
+        if (w.gameOver && !w.inQuiz) {
+            renderer.paintGameOver(g2, "GAME OVER — tecle R para reiniciar", bestText);
+        }
+
+        if (debugHud && g2.hitClip(DEBUG_X - 9, DEBUG_Y - 5, DEBUG_W + 2, DEBUG_LINE_H * (debugLines.length + 1) + 10)) paintDebugHud(g2);
+    }
+
+    private boolean hitLine(Graphics2D g2, FontMetrics fm, int y) {
+        return g2.hitClip(0, y - fm.getAscent() - 2, W, fm.getAscent() + fm.getDescent() + 4);
+    }
+
+    private boolean refreshDebugLines(long now) {
+        if (now - debugLinesAt < 250_000_000L) return false;
+        debugLinesAt = now;
+        for (int i = 0; i < debugLines.length; i++) {
+            LatencyHistogram h = Telemetry.histogram(i);
+            debugLines[i] = !Telemetry.ENABLED ? null : String.format(Locale.ROOT, "%-6s p50 %7.3f  p99 %7.3f  max %7.3f ms  (n=%d)",
+                Telemetry.NAMES[i], h.percentile(50) / 1e6, h.percentile(99) / 1e6, h.max() / 1e6, h.count());
+        }
+        return true;
+    }
+
+    private void paintDebugHud(Graphics2D g2) {
+        if (debugLinesAt == 0) refreshDebugLines(System.nanoTime());
+        int x = DEBUG_X, y = DEBUG_Y, lineH = DEBUG_LINE_H;
+        g2.setColor(DEBUG_BG);
+        g2.fillRoundRect(x - 8, y - 4, DEBUG_W, lineH * (debugLines.length + 1) + 8, 10, 10);
+        g2.setFont(fMono);
+        g2.setColor(Color.WHITE);
+        if (!Telemetry.ENABLED) {
+            g2.drawString("telemetria desligada (-Dflappy.telemetry=true)", x, y + lineH);
+            return;
+        }
+        g2.drawString("F3 — latência por fase", x, y + lineH - 4);
+        for (int i = 0; i < debugLines.length; i++) g2.drawString(debugLines[i], x, y + lineH * (i + 2) - 4);
+    }
+
+    void setRenderCacheEnabled(boolean on) { renderer.useRenderCache = on; }
+
+    void setDirtyRectsEnabled(boolean on) { dirtyRects = on; }
+
+    double paintMillis() { return paintMs; }
+
+    double inputToPhotonMillis() { return inputToPhotonMs; }
+
+    double pixelsPerFrame() { return pixelsPerFrame; }
+}
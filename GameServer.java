@@ -0,0 +1,313 @@
+package FlappyBird;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+// Servidor headless: várias partidas no mesmo JVM, uma sessão por conexão TCP
+// em localhost. Cada sessão tem uma thread de laço (tick fixo) e uma de leitura,
+// ambas virtuais quando o JVM suporta (21+); senão, threads de plataforma com pilha pequena.
+//
+// Protocolo cliente -> servidor (linhas de texto):
+//   J       pular
+//   A n     responder o quiz com a alternativa n (1..4)
+//   R       reiniciar
+//   N nome  nome do jogador no placar (padrão session-<id>)
+//   Q       sair
+// Servidor -> cliente (quadros binários: tamanho varint + payload):
+//   'H' seed(8 bytes) tickHz W H (varints)              início / reinício
+//   'S' Δtick máscara [campos]                            delta de estado, só quando algo mudou
+//       M_BIRD   ΔbirdY (zigzag)      M_SCORE  score       M_FLAGS  gameOver|inQuiz<<1
+//       M_PIPES  n, (x zigzag, gapY, gapH, speed)*n (só quando entra/sai cano ou a cada RESYNC ticks)
+//       M_QUIZ   índice da pergunta + 4 bytes de ordem      M_GAP   GAP_H
+//
+// Uso: java FlappyBird.GameServer [--port=7777]
+final class GameServer {
+    static final byte FRAME_HELLO = 'H', FRAME_STATE = 'S';
+    static final int M_BIRD = 1, M_SCORE = 2, M_FLAGS = 4, M_PIPES = 8, M_QUIZ = 16, M_GAP = 32;
+    static final int RESYNC_TICKS = 60;
+
+    final GameConfig cfg;
+    final QuestionBank bank; // um só para todas as sessões
+    final ScoreStore scores; // idem; null = sem placar
+    final ThreadFactory threads;
+    final AtomicInteger activeSessions = new AtomicInteger();
+    final AtomicLong sessionIds = new AtomicLong();
+    final AtomicLong ticks = new AtomicLong(), bytesOut = new AtomicLong();
+    final LatencyHistogram tickLateness = new LatencyHistogram();
+    final LatencyHistogram tickCost = new LatencyHistogram();
+    private final AtomicBoolean running = new AtomicBoolean(true);
+    private ServerSocket server;
+
+    GameServer(GameConfig cfg, QuestionBank bank, ScoreStore scores) {
+        this.cfg = cfg;
+        this.bank = bank;
+        this.scores = scores;
+        this.threads = sessionThreads("session-");
+    }
+
+    // Escuta em localhost; porta 0 = efêmera. Retorna a porta em uso.
+    int start(int port) throws IOException {
+        server = new ServerSocket(port, 1024, InetAddress.getLoopbackAddress());
+        Thread acceptor = new Thread(this::acceptLoop, "GameServer-accept");
+        acceptor.setDaemon(true);
+        acceptor.start();
+        return server.getLocalPort();
+    }
+
+    void stop() {
+        running.set(false);
+        try { server.close(); } catch (IOException ignored) {}
+    }
+
+    private void acceptLoop() {
+        while (running.get()) {
+            try {
+                Socket s = server.accept();
+                s.setTcpNoDelay(true);
+                Session session = new Session(sessionIds.incrementAndGet(), s);
+                threads.newThread(session::readLoop).start();
+                threads.newThread(session::tickLoop).start();
+            } catch (IOException e) {
+                if (running.get()) System.err.println("accept: " + e);
+            }
+        }
+    }
+
+    // ---------- Sessão ----------
+    final class Session {
+        final long id;
+        final Socket socket;
+        final GameSim sim;
+        final AtomicInteger pendingInput = new AtomicInteger();
+        final AtomicBoolean restart = new AtomicBoolean();
+        volatile boolean open = true;
+        volatile String player;
+        private long restarts;
+        private boolean runSubmitted;
+
+        // Último estado enviado (deltas)
+        private final byte[] out = new byte[16 + 4 * 6 * GameSim.PIPE_CAPACITY];
+        private long sentTick;
+        private int sentBirdY, sentScore, sentFlags, sentGap, sentPipeHead = -1, sentPipeSize = -1, sentQuestion = -1;
+        private long lastPipeSync;
+
+        Session(long id, Socket socket) {
+            this.id = id;
+            this.socket = socket;
+            this.sim = new GameSim(cfg, bank, seedFor(id, 0));
+            this.player = "session-" + id;
+            activeSessions.incrementAndGet();
+        }
+
+        void readLoop() {
+            try (BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.US_ASCII))) {
+                String line;
+                while (open && (line = in.readLine()) != null) {
+                    if (line.isEmpty()) continue;
+                    switch (line.charAt(0)) {
+                        case 'J': queue(GameSim.IN_FLAP); break;
+                        case 'A':
+                            int n = line.length() > 2 ? line.charAt(2) - '0' : 0;
+                            if (n >= 1 && n <= 4) queue(GameSim.answerInput(n - 1));
+                            break;
+                        case 'R': restart.set(true); break;
+                        case 'N': if (line.length() > 2) player = line.substring(2).trim(); break;
+                        case 'Q': close(); break;
+                        default: break;
+                    }
+                }
+            } catch (IOException ignored) {
+            } finally {
+                close();
+            }
+        }
+
+        // Pulos se juntam (OR); a resposta é um valor de 3 bits, então a última substitui
+        // a anterior (juntar A e B daria C)
+        private void queue(int bits) {
+            pendingInput.accumulateAndGet(bits, (a, b) ->
+                (b & GameSim.IN_ANSWER_MASK) != 0 ? (a & ~GameSim.IN_ANSWER_MASK) | b : a | b);
+        }
+
+        void tickLoop() {
+            long tickNs = 1_000_000_000L / cfg.tickHz;
+            try (OutputStream os = new BufferedOutputStream(socket.getOutputStream(), 8192)) {
+                sendHello(os);
+                long deadline = System.nanoTime() + tickNs;
+                while (open) {
+                    long wait;
+                    while ((wait = deadline - System.nanoTime()) > 0) LockSupport.parkNanos(wait);
+                    long t0 = System.nanoTime();
+                    tickLateness.record(t0 - deadline);
+
+                    if (restart.getAndSet(false)) {
+                        sim.reset(seedFor(id, ++restarts));
+                        pendingInput.set(0);
+                        runSubmitted = false;
+                        sendHello(os);
+                    }
+                    sim.step(pendingInput.getAndSet(0));
+                    if (sim.gameOver && !runSubmitted && scores != null) {
+                        runSubmitted = true;
+                        scores.submit(ScoreStore.Run.of(player, sim));
+                    }
+                    sendDelta(os);
+                    os.flush();
+
+                    ticks.incrementAndGet();
+                    tickCost.record(System.nanoTime() - t0);
+                    deadline += tickNs;
+                    if (System.nanoTime() - deadline > 4 * tickNs) deadline = System.nanoTime() + tickNs; // muito atrasado: não acumula rajada
+                }
+            } catch (IOException e) {
+                // cliente saiu
+            } finally {
+                close();
+            }
+        }
+
+        void close() {
+            if (!open) return;
+            synchronized (this) {
+                if (!open) return;
+                open = false;
+            }
+            activeSessions.decrementAndGet();
+            try { socket.close(); } catch (IOException ignored) {}
+        }
+
+        private void sendHello(OutputStream os) throws IOException {
+            int p = 0;
+            out[p++] = FRAME_HELLO;
+            for (int i = 7; i >= 0; i--) out[p++] = (byte) (sim.seed >>> (8 * i));
+            p = Replay.putVarLong(out, p, cfg.tickHz);
+            p = Replay.putVarLong(out, p, sim.W);
+            p = Replay.putVarLong(out, p, sim.H);
+            writeFrame(os, p);
+            sentTick = sim.tick; sentBirdY = 0; sentScore = -1; sentFlags = -1; sentGap = -1;
+            sentPipeHead = -1; sentPipeSize = -1; sentQuestion = -1;
+        }
+
+        private void sendDelta(OutputStream os) throws IOException {
+            int mask = 0;
+            int flags = (sim.gameOver ? 1 : 0) | (sim.inQuiz ? 2 : 0);
+            PipeRing pipes = sim.pipes;
+            if (sim.birdY != sentBirdY) mask |= M_BIRD;
+            if (sim.score != sentScore) mask |= M_SCORE;
+            if (flags != sentFlags) mask |= M_FLAGS;
+            if (pipes.head != sentPipeHead || pipes.size != sentPipeSize || sim.tick - lastPipeSync >= RESYNC_TICKS) mask |= M_PIPES;
+            if (sim.currentQ != sentQuestion) mask |= M_QUIZ;
+            if (sim.GAP_H != sentGap) mask |= M_GAP;
+            if (mask == 0) return;
+
+            int p = 0;
+            out[p++] = FRAME_STATE;
+            p = Replay.putVarLong(out, p, sim.tick - sentTick);
+            out[p++] = (byte) mask;
+            if ((mask & M_BIRD) != 0) p = Replay.putVarLong(out, p, zigzag(sim.birdY - sentBirdY));
+            if ((mask & M_SCORE) != 0) p = Replay.putVarLong(out, p, sim.score);
+            if ((mask & M_FLAGS) != 0) out[p++] = (byte) flags;
+            if ((mask & M_PIPES) != 0) {
+                p = Replay.putVarLong(out, p, pipes.size);
+                for (int i = 0; i < pipes.size; i++) {
+                    int k = pipes.slot(i);
+                    p = Replay.putVarLong(out, p, zigzag(pipes.x[k]));
+                    p = Replay.putVarLong(out, p, pipes.gapY[k]);
+                    p = Replay.putVarLong(out, p, pipes.gapH[k]);
+                    p = Replay.putVarLong(out, p, pipes.speed[k]);
+                }
+                sentPipeHead = pipes.head; sentPipeSize = pipes.size; lastPipeSync = sim.tick;
+            }
+            if ((mask & M_QUIZ) != 0) {
+                p = Replay.putVarLong(out, p, sim.currentQ + 1);
+                for (int i = 0; i < 4; i++) out[p++] = (byte) sim.optOrder[i];
+            }
+            if ((mask & M_GAP) != 0) p = Replay.putVarLong(out, p, sim.GAP_H);
+            writeFrame(os, p);
+
+            sentTick = sim.tick; sentBirdY = sim.birdY; sentScore = sim.score; sentFlags = flags;
+            sentQuestion = sim.currentQ; sentGap = sim.GAP_H;
+        }
+
+        private final byte[] lenBuf = new byte[5];
+
+        private void writeFrame(OutputStream os, int len) throws IOException {
+            int n = Replay.putVarLong(lenBuf, 0, len);
+            os.write(lenBuf, 0, n);
+            os.write(out, 0, len);
+            bytesOut.addAndGet(n + len);
+        }
+    }
+
+    static long seedFor(long sessionId, long restart) {
+        return BatchSim.mix(BatchSim.mix(sessionId) + restart);
+    }
+
+    static long zigzag(long v) { return (v << 1) ^ (v >> 63); }
+
+    static long unzigzag(long v) { return (v >>> 1) ^ -(v & 1); }
+
+    // Threads virtuais quando disponíveis (JDK 21+), via reflexão para compilar no 17
+    static ThreadFactory sessionThreads(String prefix) {
+        try {
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            builder = builderType.getMethod("name", String.class, long.class).invoke(builder, prefix, 0L);
+            Method factory = builderType.getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (ReflectiveOperationException e) {
+            AtomicLong n = new AtomicLong();
+            return r -> {
+                Thread t = new Thread(null, r, prefix + n.getAndIncrement(), 256 * 1024);
+                t.setDaemon(true);
+                return t;
+            };
+        }
+    }
+
+    static boolean virtualThreadsAvailable() {
+        try { Thread.class.getMethod("ofVirtual"); return true; }
+        catch (NoSuchMethodException e) { return false; }
+    }
+
+    void printStats(long elapsedNs) {
+        Runtime rt = Runtime.getRuntime();
+        int n = activeSessions.get();
+        long used = rt.totalMemory() - rt.freeMemory();
+        System.out.printf("sessões=%d ticks/s=%.0f saída=%.1f KB/s heap=%d MB (%.1f KB/sessão) atraso do tick %s custo %s%n",
+            n, ticks.get() * 1e9 / elapsedNs, bytesOut.get() / 1024.0 * 1e9 / elapsedNs,
+            used >> 20, n == 0 ? 0.0 : used / 1024.0 / n, tickLateness.summaryMs(), tickCost.summaryMs());
+    }
+
+    public static void main(String[] args) throws Exception {
+        int port = 7777;
+        for (String a : args) if (a.startsWith("--port=")) port = Integer.parseInt(a.substring(7));
+        GameConfig cfg = new GameConfig();
+        QuestionBank bank = QuestionBank.fromSystemProperty();
+        QuestionBank.applyFilterProperties(cfg, bank);
+        GameServer gs = new GameServer(cfg, bank, ScoreStore.shared());
+        int bound = gs.start(port);
+        System.out.printf("FlappyParallel server em 127.0.0.1:%d (threads %s)%n", bound,
+            virtualThreadsAvailable() ? "virtuais" : "de plataforma");
+        while (true) {
+            long t0 = System.nanoTime();
+            gs.ticks.set(0); gs.bytesOut.set(0);
+            Thread.sleep(5000);
+            gs.printStats(System.nanoTime() - t0);
+            gs.tickLateness.reset(); gs.tickCost.reset();
+        }
+    }
+}
@@ -0,0 +1,344 @@
+package FlappyBird;
+
+import java.nio.ByteBuffer;
+
+// Núcleo da simulação: todas as regras do jogo, sem AWT.
+// Determinístico: mesma semente + mesma sequência de entradas = mesmo resultado.
+final class GameSim {
+    // Entrada por tick (bits)
+    static final int IN_FLAP = 1;
+    static final int IN_ANSWER_SHIFT = 1; // bits 1..3: alternativa + 1 (0 = nenhuma)
+    static final int IN_ANSWER_MASK = 7 << IN_ANSWER_SHIFT;
+
+    static int answerInput(int idx) { return (idx + 1) << IN_ANSWER_SHIFT; }
+
+    // Dimensões fixas
+    static final int BIRD_X = 140, BIRD_W = 34, BIRD_H = 24;
+    static final int GROUND_H = 40;
+    static final int PIPE_W = 70;
+
+    final GameConfig cfg;
+    final int W, H;
+    private final int spawnTicks, difficultyTicks;
+
+    // Eventos de tempo de jogo (roda avança só em playTicks: pausa junto com o quiz).
+    // Mesmo tick: quiz, depois spawn, depois dificuldade.
+    static final int EV_QUIZ = 0, EV_SPAWN = 1, EV_DIFFICULTY = 2;
+    private final TickScheduler events = new TickScheduler(1024, 16);
+    private final TickScheduler.Handler onEvent = this::onEvent;
+    private int spawnTimer, difficultyTimer, quizTimer = -1;
+    // Tempo dos eventos (telemetria): null = sem medição. Só o jogo na tela liga; clones
+    // do piloto automático, sessões do servidor, lotes e o aquecimento ficam de fora
+    LatencyHistogram eventTime;
+    private final double dtScale; // passo em "quadros de 60 Hz"
+
+    // Bird
+    int birdX = BIRD_X;
+    int birdY;
+    int prevBirdY;      // posição no tick anterior (interpolação do desenho)
+    double birdVel;
+
+    // Pipes
+    static final int PIPE_CAPACITY = 128;
+    final PipeRing pipes = new PipeRing(PIPE_CAPACITY);
+
+    // Estado
+    long seed;
+    long tick;          // ticks desde o início (inclui pausa do quiz)
+    long playTicks;     // ticks de jogo efetivo (sem quiz)
+    boolean gameOver;
+    boolean quizFailed;  // terminou por resposta errada
+    int score;
+    long lastScoreAtMs = -1; // -1 = ainda não pontuou
+    int GAP_H;
+    final Rng rng = new Rng(0);
+
+    // Quiz
+    final QuestionBank bank;              // compartilhado, somente leitura
+    final QuizDeck deck;                  // já vistas nesta sessão
+    private Question current;             // decodificada uma vez por quiz
+    boolean inQuiz;
+    int currentQ = -1;                    // índice no banco
+    final int[] optOrder = {0, 1, 2, 3};  // alternativas embaralhadas
+    int correctIdx = -1;                  // índice correto após embaralhar
+    int nextQuizAt;
+
+    GameSim(GameConfig cfg, long seed) { this(cfg, QuestionBank.DEFAULT, seed); }
+
+    GameSim(GameConfig cfg, QuestionBank bank, long seed) {
+        this.cfg = cfg;
+        this.bank = bank;
+        this.deck = new QuizDeck(bank, cfg.quizTopics, cfg.quizMinDifficulty, cfg.quizMaxDifficulty);
+        this.W = cfg.width; this.H = cfg.height;
+        this.spawnTicks = cfg.ticks(cfg.spawnEveryMs);
+        this.difficultyTicks = cfg.ticks(cfg.difficultyEveryMs);
+        this.dtScale = 60.0 / cfg.tickHz;
+        reset(seed);
+    }
+
+    void reset(long seed) {
+        this.seed = seed;
+        rng.setSeed(seed);
+        pipes.clear();
+        tick = 0; playTicks = 0;
+        gameOver = false; quizFailed = false;
+        score = 0;
+        lastScoreAtMs = -1;
+        birdX = BIRD_X; birdY = H/2; prevBirdY = birdY; birdVel = 0;
+        GAP_H = cfg.gapStart;
+        scheduleTimers(1, difficultyTicks);
+
+        inQuiz = false;
+        currentQ = -1; correctIdx = -1; current = null;
+        deck.clear();
+        nextQuizAt = cfg.quizEvery;
+    }
+
+    // ---------- Snapshot ----------
+    // Estado completo do mundo; restaurar e seguir com as mesmas entradas reproduz a partida.
+    // Layout: campos fixos, canos, perguntas já vistas (nº + índices)
+    static final int STATE_FIXED_BYTES = 8 * 8 + 12 * 4 + 2 + 4;
+    static final int STATE_PIPE_BYTES = 5 * 4 + 1;
+
+    int stateBytes() { return STATE_FIXED_BYTES + pipes.size * STATE_PIPE_BYTES + deck.seenCount() * 4; }
+
+    void writeState(ByteBuffer b) {
+        b.putLong(seed).putLong(tick).putLong(playTicks).putLong(lastScoreAtMs);
+        // spawn gravado como "último tick sem spawn" (formato v1)
+        b.putLong(events.due(spawnTimer) - 1).putLong(events.due(difficultyTimer)).putLong(rng.state);
+        b.putDouble(birdVel);
+        b.putInt(birdX).putInt(birdY).putInt(score).putInt(GAP_H);
+        b.putInt(currentQ).putInt(correctIdx).putInt(nextQuizAt);
+        b.putInt(optOrder[0]).putInt(optOrder[1]).putInt(optOrder[2]).putInt(optOrder[3]);
+        b.putInt(pipes.size);
+        b.put((byte) (gameOver ? (quizFailed ? 2 : 1) : 0)).put((byte) (inQuiz ? 1 : 0));
+        for (int i = 0; i < pipes.size; i++) {
+            int k = pipes.slot(i);
+            b.putInt(pipes.x[k]).putInt(pipes.lastX[k]).putInt(pipes.gapY[k]).putInt(pipes.gapH[k]).putInt(pipes.speed[k]);
+            b.put((byte) (pipes.isScored(k) ? 1 : 0));
+        }
+        deck.writeTo(b);
+    }
+
+    void readState(ByteBuffer b) {
+        seed = b.getLong(); tick = b.getLong(); playTicks = b.getLong(); lastScoreAtMs = b.getLong();
+        long spawnDue = b.getLong() + 1, difficultyDue = b.getLong(); rng.state = b.getLong();
+        birdVel = b.getDouble();
+        birdX = b.getInt(); birdY = b.getInt(); score = b.getInt(); GAP_H = b.getInt();
+        prevBirdY = birdY;
+        currentQ = b.getInt(); correctIdx = b.getInt(); nextQuizAt = b.getInt();
+        for (int i = 0; i < 4; i++) optOrder[i] = b.getInt();
+        int n = b.getInt();
+        if (n < 0 || n > pipes.capacity) throw new IllegalArgumentException("bad pipe count in state: " + n);
+        int over = b.get();
+        gameOver = over != 0; quizFailed = over == 2; inQuiz = b.get() != 0;
+        scheduleTimers(spawnDue, difficultyDue);
+        pipes.clear();
+        for (int i = 0; i < n; i++) {
+            int k = pipes.add(b.getInt(), 0, 0, 0);
+            pipes.lastX[k] = b.getInt(); pipes.gapY[k] = b.getInt(); pipes.gapH[k] = b.getInt(); pipes.speed[k] = b.getInt();
+            pipes.setScored(k, b.get() != 0);
+        }
+        deck.readFrom(b);
+        current = (currentQ >= 0) ? bank.get(currentQ) : null;
+    }
+
+    long gameMillis() { return Math.round(tick * cfg.tickMs()); }
+
+    // ---------- Passo fixo ----------
+    void step(int input) {
+        if (gameOver) return;
+        tick++;
+
+        // Pausa total durante o quiz: só aceita a resposta
+        if (inQuiz) {
+            int ans = (input & IN_ANSWER_MASK) >>> IN_ANSWER_SHIFT;
+            if (ans != 0) resolveQuizAnswer(ans - 1);
+            return;
+        }
+
+        if ((input & IN_FLAP) != 0) birdVel = cfg.jumpPower;
+
+        update();
+        playTicks++;
+        events.advance(playTicks, onEvent);
+    }
+
+    private void scheduleTimers(long spawnDue, long difficultyDue) {
+        events.clear(playTicks);
+        spawnTimer = events.schedule(spawnDue, EV_SPAWN, spawnTicks);
+        difficultyTimer = events.schedule(difficultyDue, EV_DIFFICULTY, difficultyTicks);
+        quizTimer = -1;
+    }
+
+    private void onEvent(int ev) {
+        LatencyHistogram h = eventTime;
+        long t0 = (h != null) ? System.nanoTime() : 0L;
+        switch (ev) {
+            case EV_QUIZ:
+                quizTimer = -1;
+                triggerQuiz();
+                break;
+            case EV_SPAWN:
+                trySpawnPipe();
+                break;
+            case EV_DIFFICULTY:
+                GAP_H = Math.max(cfg.gapMin, GAP_H - cfg.gapStep);
+                break;
+        }
+        if (h != null) h.record(System.nanoTime() - t0);
+    }
+
+    // ---------- Lógica principal ----------
+    void update() {
+        prevBirdY = birdY;
+        birdVel += cfg.gravity * dtScale;
+        birdY += (int) Math.round(birdVel * dtScale);
+
+        if (birdY < 0) { birdY = 0; birdVel = 0; }
+        if (birdY > H-GROUND_H) { birdY = H-GROUND_H; gameOver = true; }
+
+        final int birdRefX = birdX + 17;
+
+        final PipeRing ring = pipes;
+        final int bx = birdX, by = birdY;
+        for (int i = 0; i < ring.size; ) {
+            final int k = ring.slot(i);
+            final int lastX = ring.x[k];
+            ring.lastX[k] = lastX;
+
+            int dx = (int) Math.round(ring.speed[k] * dtScale);
+            if (dx < 1) dx = 1;
+            final int x = lastX - dx;
+            ring.x[k] = x;
+
+            if (x + PIPE_W < 0) { ring.remove(i); continue; }
+
+            // AABB inline: bird x cano de cima / cano de baixo
+            if (bx < x + PIPE_W && x < bx + BIRD_W) {
+                int half = ring.gapH[k] / 2;
+                int topH = ring.gapY[k] - half;
+                int botY = ring.gapY[k] + half;
+                if ((topH > 0 && by < topH) || (botY < H && by + BIRD_H > botY)) gameOver = true;
+            }
+
+            // Pontuação robusta
+            int edgeBefore = lastX + PIPE_W;
+            int edgeNow    = x + PIPE_W;
+            if (edgeBefore >= birdRefX && edgeNow < birdRefX && !ring.isScored(k)) {
+                score++;
+                ring.setScored(k, true);
+                lastScoreAtMs = gameMillis();
+
+                // Checkpoint de quiz: dispara no fim deste tick
+                if (score >= nextQuizAt && !inQuiz && quizTimer < 0) {
+                    quizTimer = events.schedule(playTicks + 1, EV_QUIZ, 0);
+                }
+            }
+            i++;
+        }
+    }
+
+    // Colisão do bird com o cano no slot k (mesma regra do laço de update)
+    boolean collides(int k) {
+        return intersects(birdX, birdY, BIRD_W, BIRD_H, pipes.x[k], 0, PIPE_W, pipes.topH(k))
+            || intersects(birdX, birdY, BIRD_W, BIRD_H, pipes.x[k], pipes.botY(k), PIPE_W, pipes.botH(k, H));
+    }
+
+    // Mesma semântica de Rectangle.intersects, sem alocar
+    static boolean intersects(int ax, int ay, int aw, int ah, int bx, int by, int bw, int bh) {
+        if (aw <= 0 || ah <= 0 || bw <= 0 || bh <= 0) return false;
+        return bx < ax + aw && by < ay + ah && ax < bx + bw && ay < by + bh;
+    }
+
+    void trySpawnPipe() {
+        if (gameOver || inQuiz) return;
+        if (pipes.isFull()) return; // só com config extrema (tela larga, spacingMin ~0): pula o spawn
+
+        int lastRight = Integer.MIN_VALUE;
+        if (!pipes.isEmpty()) {
+            lastRight = pipes.x[pipes.lastSlot()] + PIPE_W;
+            int distToRight = W - lastRight;
+            if (distToRight < cfg.spacingMin) return;
+        }
+
+        int half = GAP_H / 2;
+        int minCenter = cfg.marginMin + half;
+        int maxCenter = (H - cfg.marginMin) - half;
+        int gapCenter = rng.nextInt(Math.max(1, maxCenter - minCenter + 1)) + minCenter;
+
+        int x = W + rng.nextInt(30) + 20;
+        int speed = 3 + rng.nextInt(2);
+
+        if (!pipes.isEmpty()) {
+            int spacing = x - lastRight;
+            if (spacing < cfg.spacingMin) return;
+            if (spacing > cfg.spacingMax) x = lastRight + cfg.spacingMax;
+        }
+
+        pipes.add(x, gapCenter, GAP_H, speed);
+    }
+
+    // ---------- Quiz ----------
+    void triggerQuiz() {
+        currentQ = deck.draw(rng);
+        Question q = current = bank.get(currentQ);
+
+        // Embaralhar as alternativas mantendo o mapeamento da correta
+        int[] idx = optOrder;
+        for (int i = 0; i < 4; i++) idx[i] = i;
+        // Fisher-Yates
+        for (int i = idx.length - 1; i > 0; i--) {
+            int j = rng.nextInt(i + 1);
+            int tmp = idx[i]; idx[i] = idx[j]; idx[j] = tmp;
+        }
+        for (int i = 0; i < 4; i++) if (idx[i] == q.correct) { correctIdx = i; break; }
+
+        inQuiz = true;
+    }
+
+    void resolveQuizAnswer(int chosenIdx) {
+        if (!inQuiz) return;
+        if (chosenIdx == correctIdx) {
+            // Acertou → continua e agenda próximo checkpoint
+            nextQuizAt += cfg.quizEvery;
+        } else {
+            // Errou - game over
+            gameOver = true;
+            quizFailed = true;
+        }
+        currentQ = -1; correctIdx = -1; current = null;
+        inQuiz = false;
+    }
+
+    int quizzesCorrect() { return cfg.quizEvery <= 0 ? 0 : nextQuizAt / cfg.quizEvery - 1; }
+
+    int quizzesAsked() { return quizzesCorrect() + (quizFailed ? 1 : 0) + (inQuiz ? 1 : 0); }
+
+    Question question() { return current; }
+
+    String option(int i) { return current == null ? "" : current.opts[optOrder[i]]; }
+
+    // Mesmo LCG de java.util.Random, com estado acessível (snapshots/clonagem)
+    static final class Rng {
+        private static final long MULT = 0x5DEECE66DL, ADD = 0xBL, MASK = (1L << 48) - 1;
+        long state;
+
+        Rng(long seed) { setSeed(seed); }
+
+        void setSeed(long seed) { state = (seed ^ MULT) & MASK; }
+
+        int next(int bits) {
+            state = (state * MULT + ADD) & MASK;
+            return (int) (state >>> (48 - bits));
+        }
+
+        int nextInt(int bound) {
+            int r = next(31);
+            int m = bound - 1;
+            if ((bound & m) == 0) return (int) ((bound * (long) r) >> 31);
+            for (int u = r; u - (r = u % bound) + m < 0; u = next(31)) { }
+            return r;
+        }
+    }
+}
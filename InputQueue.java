@@ -0,0 +1,63 @@
+package FlappyBird;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// Fila SPSC limitada de eventos de entrada com carimbo de tempo: o EDT (produtor)
+// enfileira bits + nanoTime, a thread do jogo (consumidor) drena na fronteira do
+// tick. Só há escritas ordenadas (lazySet) nos contadores; nada é alocado.
+final class InputQueue {
+    private final int mask;
+    private final int[] bits;
+    private final long[] stamps;
+    private final AtomicLong head = new AtomicLong(); // próximo a ler (consumidor)
+    private final AtomicLong tail = new AtomicLong(); // próximo a escrever (produtor)
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong clearTo = new AtomicLong(); // pedido de descarte do produtor: tail de então
+
+    // Resultado do último drain (lido só pelo consumidor)
+    private long drainedFirstNs;
+
+    InputQueue(int capacity) {
+        if (Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        mask = capacity - 1;
+        bits = new int[capacity];
+        stamps = new long[capacity];
+    }
+
+    // Produtor. Fila cheia: descarta (e conta) em vez de bloquear o EDT
+    boolean offer(int inputBits, long nanoTime) {
+        long t = tail.get();
+        if (t - head.get() > mask) { dropped.incrementAndGet(); return false; }
+        int i = (int) (t & mask);
+        bits[i] = inputBits;
+        stamps[i] = nanoTime;
+        tail.lazySet(t + 1);
+        return true;
+    }
+
+    // Consumidor: entradas de um tick. Pulos se juntam (OR); a resposta do quiz é um
+    // valor de 3 bits, então só cabe uma por tick — a segunda resposta (e o que vem
+    // depois dela) fica para o próximo. firstStampNs() = carimbo do mais antigo
+    int drain() {
+        long h = Math.max(head.get(), clearTo.get()), t = tail.get();
+        int in = 0;
+        drainedFirstNs = 0;
+        if (h == t) { head.lazySet(h); return 0; }
+        drainedFirstNs = stamps[(int) (h & mask)];
+        for (; h < t; h++) {
+            int b = bits[(int) (h & mask)];
+            if ((b & GameSim.IN_ANSWER_MASK) != 0 && (in & GameSim.IN_ANSWER_MASK) != 0) break;
+            in |= b;
+        }
+        head.lazySet(h);
+        return in;
+    }
+
+    long firstStampNs() { return drainedFirstNs; }
+
+    // Produtor: descarta o que já foi enfileirado (reinício). Só registra o ponto; quem
+    // move head é o consumidor, no próximo drain (a fila continua SPSC)
+    void clear() { clearTo.lazySet(tail.get()); }
+
+    long dropped() { return dropped.get(); }
+}
@@ -0,0 +1,67 @@
+package FlappyBird;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Histograma de latências em ns com memória fixa: faixas log-lineares
+// (potência de 2 dividida em 8 sub-faixas, erro relativo <= 12,5%).
+// record() é uma soma atômica, sem alocação; pode ser chamado de várias threads.
+final class LatencyHistogram {
+    private static final int SUB_BITS = 3, SUB = 1 << SUB_BITS;
+    private static final int BUCKETS = (64 - SUB_BITS + 1) * SUB;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLongArray totals = new AtomicLongArray(2); // {count, max}
+
+    void record(long ns) {
+        if (ns < 0) ns = 0;
+        counts.getAndIncrement(bucket(ns));
+        totals.getAndIncrement(0);
+        long max;
+        while (ns > (max = totals.get(1)) && !totals.compareAndSet(1, max, ns)) { }
+    }
+
+    static int bucket(long v) {
+        if (v < SUB) return (int) v;
+        int msb = 63 - Long.numberOfLeadingZeros(v);
+        int sub = (int) (v >>> (msb - SUB_BITS)) & (SUB - 1);
+        return (msb - SUB_BITS + 1) * SUB + sub;
+    }
+
+    // Maior valor que cai na faixa
+    static long bucketUpper(int b) {
+        if (b < SUB) return b;
+        int msb = b / SUB + SUB_BITS - 1;
+        long base = 1L << msb;
+        return base + ((long) (b % SUB + 1) << (msb - SUB_BITS)) - 1;
+    }
+
+    long count() { return totals.get(0); }
+
+    long max() { return totals.get(1); }
+
+    // Percentil p (0..100); limite superior da faixa, no máximo o maior valor visto
+    long percentile(double p) {
+        long n = count();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(p / 100.0 * n));
+        long seen = 0;
+        for (int b = 0; b < BUCKETS; b++) {
+            seen += counts.get(b);
+            if (seen >= rank) return Math.min(bucketUpper(b), max());
+        }
+        return max();
+    }
+
+    void reset() {
+        for (int b = 0; b < BUCKETS; b++) counts.set(b, 0);
+        totals.set(0, 0);
+        totals.set(1, 0);
+    }
+
+    // "p50=0.12 p99=1.80 max=3.40 ms"
+    String summaryMs() {
+        return String.format(Locale.ROOT, "p50=%.2f p99=%.2f max=%.2f ms",
+            percentile(50) / 1e6, percentile(99) / 1e6, max() / 1e6);
+    }
+}
@@ -0,0 +1,238 @@
+package FlappyBird;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Gerador de carga: N bots, cada um numa conexão própria, jogando pela heurística
+// a partir do estado espelhado dos deltas. Sem --host sobe um GameServer no mesmo JVM.
+//
+// Uso: java FlappyBird.LoadGen [--bots=1000] [--seconds=20] [--host=127.0.0.1] [--port=7777]
+final class LoadGen {
+    private static final byte[] JUMP = "J\n".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RESTART = "R\n".getBytes(StandardCharsets.US_ASCII);
+
+    final AtomicLong frames = new AtomicLong(), bytesIn = new AtomicLong();
+    final AtomicLong games = new AtomicLong(), connectErrors = new AtomicLong();
+    final AtomicBoolean running = new AtomicBoolean(true);
+    final QuestionBank bank = QuestionBank.fromSystemProperty(); // o mesmo do servidor
+
+    // ---------- Bot ----------
+    final class Bot {
+        private final String host;
+        private final int port;
+        private final byte[] buf = new byte[64 * 1024];
+
+        // Espelho do estado
+        private int tickHz = 60, H;
+        private double dtScale = 1;
+        private long tick, pipesTick;
+        private int birdY, prevBirdY, score, flags, gap, question = -1;
+        private final int[] order = new int[4];
+        private int pipeCount;
+        private final int[] px = new int[GameSim.PIPE_CAPACITY], gapY = new int[GameSim.PIPE_CAPACITY], speed = new int[GameSim.PIPE_CAPACITY];
+        private boolean answered;
+        private int pos;          // cursor de leitura em buf (apply)
+        private int prefixBytes;  // bytes do prefixo de tamanho do último quadro (varint: 1 ou 2)
+        private final byte[] answer = {'A', ' ', '1', '\n'};
+
+        Bot(String host, int port) { this.host = host; this.port = port; }
+
+        void run() {
+            try (Socket s = new Socket()) {
+                s.connect(new InetSocketAddress(host, port), 10_000);
+                s.setTcpNoDelay(true);
+                DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream(), 4096));
+                OutputStream out = s.getOutputStream();
+                out.write(("N bot-" + Thread.currentThread().getId() + "\n").getBytes(StandardCharsets.US_ASCII));
+                while (running.get()) {
+                    int len = readLength(in);
+                    in.readFully(buf, 0, len);
+                    bytesIn.addAndGet(len + prefixBytes);
+                    frames.incrementAndGet();
+                    apply(len);
+                    act(out);
+                }
+                out.write('Q'); out.write('\n');
+            } catch (EOFException ignored) {
+            } catch (IOException e) {
+                if (running.get()) connectErrors.incrementAndGet();
+            }
+        }
+
+        private void apply(int len) {
+            pos = 1;
+            if (buf[0] == GameServer.FRAME_HELLO) {
+                pos = 9;
+                tickHz = (int) varLong();
+                varLong(); // W
+                H = (int) varLong();
+                dtScale = 60.0 / tickHz;
+                tick = 0; birdY = 0; prevBirdY = 0; score = 0; flags = 0; pipeCount = 0; question = -1; answered = false;
+                return;
+            }
+            tick += varLong();
+            int mask = buf[pos++] & 0xFF;
+            if ((mask & GameServer.M_BIRD) != 0) { prevBirdY = birdY; birdY += (int) GameServer.unzigzag(varLong()); }
+            if ((mask & GameServer.M_SCORE) != 0) score = (int) varLong();
+            if ((mask & GameServer.M_FLAGS) != 0) flags = buf[pos++];
+            if ((mask & GameServer.M_PIPES) != 0) {
+                pipeCount = (int) varLong();
+                for (int i = 0; i < pipeCount; i++) {
+                    px[i] = (int) GameServer.unzigzag(varLong());
+                    gapY[i] = (int) varLong();
+                    varLong(); // gapH
+                    speed[i] = (int) varLong();
+                }
+                pipesTick = tick;
+            }
+            if ((mask & GameServer.M_QUIZ) != 0) {
+                question = (int) varLong() - 1;
+                for (int i = 0; i < 4; i++) order[i] = buf[pos++];
+                answered = false;
+            }
+            if ((mask & GameServer.M_GAP) != 0) gap = (int) varLong();
+            if (pos != len) throw new IllegalStateException("frame length mismatch: " + pos + " != " + len);
+        }
+
+        // Mesma heurística do Policy.HEURISTIC, sobre o espelho (canos extrapolados pela velocidade)
+        private void act(OutputStream out) throws IOException {
+            if ((flags & 1) != 0) {
+                games.incrementAndGet();
+                flags = 0;
+                out.write(RESTART);
+                return;
+            }
+            if ((flags & 2) != 0) {
+                if (answered || question < 0) return;
+                int correct = bank.get(question).correct;
+                for (int i = 0; i < 4; i++) {
+                    if (order[i] == correct) {
+                        answer[2] = (byte) ('1' + i);
+                        out.write(answer);
+                        answered = true;
+                    }
+                }
+                return;
+            }
+            int target = H / 2;
+            long elapsed = tick - pipesTick;
+            for (int i = 0; i < pipeCount; i++) {
+                int dx = Math.max(1, (int) Math.round(speed[i] * dtScale));
+                if (px[i] - dx * elapsed + GameSim.PIPE_W >= GameSim.BIRD_X) { target = gapY[i]; break; }
+            }
+            if (birdY > target + 10 && birdY > prevBirdY) {
+                prevBirdY = Integer.MAX_VALUE; // um pulo por subida
+                out.write(JUMP);
+            }
+        }
+
+        // Prefixo varint com o tamanho do quadro; guarda em prefixBytes quantos bytes ocupou
+        private int readLength(DataInputStream in) throws IOException {
+            long v = 0;
+            prefixBytes = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = in.readUnsignedByte();
+                prefixBytes++;
+                v |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return (int) v;
+            }
+        }
+
+        private long varLong() {
+            long v = 0;
+            for (int shift = 0; ; shift += 7) {
+                int b = buf[pos++];
+                v |= (long) (b & 0x7F) << shift;
+                if (b >= 0) return v;
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int bots = 1000, seconds = 20, port = 7777;
+        String host = null;
+        for (String a : args) {
+            if (a.startsWith("--bots=")) bots = Integer.parseInt(a.substring(7));
+            else if (a.startsWith("--seconds=")) seconds = Integer.parseInt(a.substring(10));
+            else if (a.startsWith("--host=")) host = a.substring(7);
+            else if (a.startsWith("--port=")) port = Integer.parseInt(a.substring(7));
+            else throw new IllegalArgumentException("unknown option: " + a);
+        }
+
+        LoadGen lg = new LoadGen();
+        GameServer server = null;
+        if (host == null) {
+            GameConfig cfg = new GameConfig();
+            QuestionBank.applyFilterProperties(cfg, lg.bank);
+            server = new GameServer(cfg, lg.bank, null); // bots não entram no placar do usuário
+            port = server.start(0);
+            host = "127.0.0.1";
+        }
+        int cores = Runtime.getRuntime().availableProcessors();
+        System.out.printf("LoadGen: %d bots -> %s:%d, %ds, %d núcleo(s), threads %s%n", bots, host, port, seconds, cores,
+            GameServer.virtualThreadsAvailable() ? "virtuais" : "de plataforma (JDK sem threads virtuais)");
+
+        System.gc();
+        long heapBefore = usedHeap();
+        ThreadFactory tf = GameServer.sessionThreads("bot-");
+        List<Thread> threads = new ArrayList<>(bots);
+        for (int i = 0; i < bots; i++) {
+            Thread t = tf.newThread(lg.new Bot(host, port)::run);
+            threads.add(t);
+            t.start();
+        }
+
+        // Aquecimento: espera todas as sessões subirem e zera as métricas
+        long warmEnd = System.nanoTime() + 3_000_000_000L;
+        while (server != null && server.activeSessions.get() < bots && System.nanoTime() < warmEnd) Thread.sleep(50);
+        Thread.sleep(1000);
+        if (server != null) { server.tickLateness.reset(); server.tickCost.reset(); server.ticks.set(0); server.bytesOut.set(0); }
+        lg.frames.set(0); lg.bytesIn.set(0); lg.games.set(0);
+
+        long t0 = System.nanoTime();
+        for (int s = 1; s <= seconds; s++) {
+            Thread.sleep(1000);
+            if (server != null && s % 5 == 0) server.printStats(System.nanoTime() - t0);
+        }
+        double secs = (System.nanoTime() - t0) / 1e9;
+        System.gc();
+        long heapAfter = usedHeap();
+        lg.running.set(false);
+
+        int live = server != null ? server.activeSessions.get() : bots;
+        System.out.println("---- resultado ----");
+        System.out.printf("sessões ativas        %d (erros de conexão %d)%n", live, lg.connectErrors.get());
+        System.out.printf("sessões por núcleo    %.0f%n", (double) live / cores);
+        System.out.printf("quadros recebidos     %.0f/s (%.1f KB/s, %.1f B/quadro)%n",
+            lg.frames.get() / secs, lg.bytesIn.get() / 1024.0 / secs, lg.frames.get() == 0 ? 0.0 : (double) lg.bytesIn.get() / lg.frames.get());
+        System.out.printf("partidas terminadas   %d%n", lg.games.get());
+        if (server != null) {
+            long expected = (long) live * server.cfg.tickHz;
+            System.out.printf("ticks do servidor     %.0f/s (esperado %d/s)%n", server.ticks.get() / secs, expected);
+            System.out.printf("atraso do tick        %s%n", server.tickLateness.summaryMs());
+            System.out.printf("custo do tick         %s%n", server.tickCost.summaryMs());
+            System.out.printf("heap por sessão       %.1f KB (servidor + bot no mesmo JVM)%n",
+                (heapAfter - heapBefore) / 1024.0 / Math.max(1, live));
+            server.stop();
+        } else {
+            System.out.printf("heap por bot          %.1f KB%n", (heapAfter - heapBefore) / 1024.0 / Math.max(1, bots));
+        }
+        for (Thread t : threads) t.join(2000);
+    }
+
+    private static long usedHeap() {
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
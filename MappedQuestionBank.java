@@ -0,0 +1,282 @@
+package FlappyBird;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Banco de perguntas em arquivo (.fqb) lido por memory-map: abrir custa só o
+// cabeçalho, e uma pergunta só é decodificada quando sorteada. O heap não cresce
+// com o tamanho do banco; as páginas ficam no cache do SO, compartilhadas.
+//
+// Formato (big-endian):
+//   cabeçalho  magic, versão, reservado, nº de perguntas, nº de tópicos, id, offsets das seções
+//   tópicos    por tópico: u16 tamanho + UTF-8
+//   meta       por pergunta: tópico, dificuldade, correta, reservado (1 byte cada)
+//   índice     por pergunta: offset (int) do registro na seção de dados
+//   dados      por pergunta: enunciado + 4 alternativas, cada um u16 tamanho + UTF-8
+//
+// Fonte (CSV com ';', campos opcionalmente entre aspas, '#' comenta):
+//   tópico;dificuldade(1-5);pergunta;alt1;alt2;alt3;alt4;correta(1-4)
+//
+// Uso: java FlappyBird.MappedQuestionBank build <fonte.csv> <banco.fqb>
+//      java FlappyBird.MappedQuestionBank info <banco.fqb>
+//      java FlappyBird.MappedQuestionBank export-default <fonte.csv>
+final class MappedQuestionBank implements QuestionBank {
+    static final int MAGIC = 0x46514231; // "FQB1"
+    static final short VERSION = 1;
+    static final int HEADER_BYTES = 4 + 2 + 2 + 4 + 4 + 8 + 4 * 4;
+    static final int META_BYTES = 4;
+
+    private static final ConcurrentHashMap<Path, MappedQuestionBank> SHARED = new ConcurrentHashMap<>();
+
+    final Path path;
+    private final ByteBuffer buf;
+    private final int count, topicCount;
+    private final long id;
+    private final int metaOff, indexOff, dataOff;
+    private final String[] topics;
+    private final ConcurrentHashMap<Long, long[]> filters = new ConcurrentHashMap<>();
+
+    private MappedQuestionBank(Path path, ByteBuffer buf) throws IOException {
+        this.path = path;
+        this.buf = buf;
+        if (buf.capacity() < HEADER_BYTES || buf.getInt(0) != MAGIC) throw new IOException("not a question bank: " + path);
+        if (buf.getShort(4) != VERSION) throw new IOException("unsupported question bank version " + buf.getShort(4) + ": " + path);
+        count = buf.getInt(8);
+        topicCount = buf.getInt(12);
+        id = buf.getLong(16);
+        int topicsOff = buf.getInt(24);
+        metaOff = buf.getInt(28);
+        indexOff = buf.getInt(32);
+        dataOff = buf.getInt(36);
+        if (count <= 0 || topicCount <= 0 || topicCount > MAX_TOPICS || dataOff > buf.capacity()) {
+            throw new IOException("corrupt question bank header: " + path);
+        }
+        topics = new String[topicCount];
+        int p = topicsOff;
+        for (int t = 0; t < topicCount; t++) {
+            topics[t] = utf8(p);
+            p += 2 + (buf.getShort(p) & 0xFFFF);
+        }
+    }
+
+    static MappedQuestionBank open(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mb = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            return new MappedQuestionBank(path, mb);
+        }
+    }
+
+    // Uma instância por arquivo no JVM inteiro
+    static MappedQuestionBank shared(Path path) throws IOException {
+        Path key = path.toAbsolutePath().normalize();
+        MappedQuestionBank b = SHARED.get(key);
+        if (b != null) return b;
+        b = open(key);
+        MappedQuestionBank prev = SHARED.putIfAbsent(key, b);
+        return prev != null ? prev : b;
+    }
+
+    static MappedQuestionBank findOpen(long id) {
+        for (MappedQuestionBank b : SHARED.values()) if (b.id == id) return b;
+        return null;
+    }
+
+    @Override public int size() { return count; }
+    @Override public int topic(int i) { return buf.get(metaOff + i * META_BYTES); }
+    @Override public int difficulty(int i) { return buf.get(metaOff + i * META_BYTES + 1); }
+    @Override public int topicCount() { return topicCount; }
+    @Override public String topicName(int t) { return topics[t]; }
+    @Override public long id() { return id; }
+
+    @Override public Question get(int i) {
+        if (i < 0 || i >= count) throw new IndexOutOfBoundsException("question " + i + " of " + count);
+        int p = dataOff + buf.getInt(indexOff + i * 4);
+        String text = utf8(p);
+        p += 2 + (buf.getShort(p) & 0xFFFF);
+        String[] opts = new String[4];
+        for (int k = 0; k < 4; k++) {
+            opts[k] = utf8(p);
+            p += 2 + (buf.getShort(p) & 0xFFFF);
+        }
+        return new Question(text, opts, buf.get(metaOff + i * META_BYTES + 2));
+    }
+
+    @Override public long[] eligible(int topicMask, int minDifficulty, int maxDifficulty) {
+        long key = ((long) topicMask << 32) | (minDifficulty << 8) | maxDifficulty;
+        return filters.computeIfAbsent(key, k -> QuestionBank.computeEligible(this, topicMask, minDifficulty, maxDifficulty));
+    }
+
+    private String utf8(int p) {
+        int len = buf.getShort(p) & 0xFFFF;
+        byte[] b = new byte[len];
+        buf.get(p + 2, b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+
+    // ---------- Conversor ----------
+    static final class Entry {
+        final Question q;
+        final int topic, difficulty;
+        Entry(Question q, int topic, int difficulty) { this.q = q; this.topic = topic; this.difficulty = difficulty; }
+    }
+
+    static void build(Path src, Path dst) throws IOException {
+        Map<String, Integer> topicIds = new LinkedHashMap<>();
+        List<Entry> entries = new ArrayList<>();
+        try (BufferedReader in = Files.newBufferedReader(src, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNo = 0;
+            while ((line = in.readLine()) != null) {
+                lineNo++;
+                if (line.isBlank() || line.startsWith("#")) continue;
+                List<String> f = splitCsv(line);
+                if (f.size() != 8) throw new IOException(src + ":" + lineNo + ": expected 8 fields, got " + f.size());
+                Integer topic = topicIds.get(f.get(0));
+                if (topic == null) {
+                    if (topicIds.size() == MAX_TOPICS) throw new IOException(src + ":" + lineNo + ": more than " + MAX_TOPICS + " topics");
+                    topic = topicIds.size();
+                    topicIds.put(f.get(0), topic);
+                }
+                int difficulty = parseRange(f.get(1), 1, MAX_DIFFICULTY, src, lineNo, "difficulty");
+                int correct = parseRange(f.get(7), 1, 4, src, lineNo, "correct option") - 1;
+                Question q = new Question(f.get(2), new String[]{f.get(3), f.get(4), f.get(5), f.get(6)}, correct);
+                entries.add(new Entry(q, topic, difficulty));
+            }
+        }
+        if (entries.isEmpty()) throw new IOException("no questions in " + src);
+        write(dst, new ArrayList<>(topicIds.keySet()), entries);
+    }
+
+    private static int parseRange(String s, int min, int max, Path src, int lineNo, String what) throws IOException {
+        try {
+            int v = Integer.parseInt(s.trim());
+            if (v >= min && v <= max) return v;
+        } catch (NumberFormatException ignored) {}
+        throw new IOException(src + ":" + lineNo + ": " + what + " must be " + min + ".." + max + ": " + s);
+    }
+
+    static void write(Path dst, List<String> topicNames, List<Entry> entries) throws IOException {
+        byte[][] topicBytes = new byte[topicNames.size()][];
+        int topicsLen = 0;
+        for (int t = 0; t < topicBytes.length; t++) {
+            topicBytes[t] = checkedUtf8(topicNames.get(t));
+            topicsLen += 2 + topicBytes[t].length;
+        }
+        int n = entries.size();
+        byte[][] data = new byte[n * 5][];
+        int dataLen = 0;
+        long id = HASH_SEED;
+        for (int i = 0; i < n; i++) {
+            Entry e = entries.get(i);
+            data[i * 5] = checkedUtf8(e.q.text);
+            for (int k = 0; k < 4; k++) data[i * 5 + 1 + k] = checkedUtf8(e.q.opts[k]);
+            for (int k = 0; k < 5; k++) dataLen += 2 + data[i * 5 + k].length;
+            id = QuestionBank.hash(id, e.q, e.topic, e.difficulty);
+        }
+        int topicsOff = HEADER_BYTES;
+        int metaOff = topicsOff + topicsLen;
+        int indexOff = metaOff + n * META_BYTES;
+        int dataOff = indexOff + n * 4;
+        long total = (long) dataOff + dataLen;
+        if (total > Integer.MAX_VALUE) throw new IOException("question bank too large: " + total + " bytes");
+
+        ByteBuffer b = ByteBuffer.allocate((int) total);
+        b.putInt(MAGIC).putShort(VERSION).putShort((short) 0);
+        b.putInt(n).putInt(topicBytes.length).putLong(id);
+        b.putInt(topicsOff).putInt(metaOff).putInt(indexOff).putInt(dataOff);
+        for (byte[] t : topicBytes) b.putShort((short) t.length).put(t);
+        for (Entry e : entries) b.put((byte) e.topic).put((byte) e.difficulty).put((byte) e.q.correct).put((byte) 0);
+        int rel = 0;
+        for (int i = 0; i < n; i++) {
+            b.putInt(rel);
+            for (int k = 0; k < 5; k++) rel += 2 + data[i * 5 + k].length;
+        }
+        for (byte[] s : data) b.putShort((short) s.length).put(s);
+        Files.write(dst, b.array());
+    }
+
+    private static byte[] checkedUtf8(String s) throws IOException {
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        if (b.length > 0xFFFF) throw new IOException("text longer than 65535 bytes: " + s.substring(0, 40) + "...");
+        return b;
+    }
+
+    // Divide uma linha por ';' respeitando aspas ("" = aspas literais)
+    static List<String> splitCsv(String line) {
+        List<String> out = new ArrayList<>();
+        StringBuilder cur = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') { cur.append('"'); i++; }
+                else if (c == '"') quoted = false;
+                else cur.append(c);
+            } else if (c == '"') quoted = true;
+            else if (c == ';') { out.add(cur.toString().trim()); cur.setLength(0); }
+            else cur.append(c);
+        }
+        out.add(cur.toString().trim());
+        return out;
+    }
+
+    private static String csvField(String s) {
+        return (s.indexOf(';') >= 0 || s.indexOf('"') >= 0) ? '"' + s.replace("\"", "\"\"") + '"' : s;
+    }
+
+    static void exportDefault(Path dst) throws IOException {
+        try (BufferedWriter w = Files.newBufferedWriter(dst, StandardCharsets.UTF_8); PrintWriter out = new PrintWriter(w)) {
+            out.println("# tópico;dificuldade;pergunta;alt1;alt2;alt3;alt4;correta");
+            QuestionBank d = QuestionBank.DEFAULT;
+            for (int i = 0; i < d.size(); i++) {
+                Question q = d.get(i);
+                StringBuilder line = new StringBuilder();
+                line.append(csvField(d.topicName(d.topic(i)))).append(';').append(d.difficulty(i)).append(';').append(csvField(q.text));
+                for (String o : q.opts) line.append(';').append(csvField(o));
+                out.println(line.append(';').append(q.correct + 1));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length >= 3 && args[0].equals("build")) {
+            long t0 = System.nanoTime();
+            build(Paths.get(args[1]), Paths.get(args[2]));
+            MappedQuestionBank b = open(Paths.get(args[2]));
+            System.out.printf("%s: %d perguntas, %d tópicos, %d bytes, id %016x (%.0f ms)%n", args[2], b.size(), b.topicCount(),
+                Files.size(b.path), b.id(), (System.nanoTime() - t0) / 1e6);
+        } else if (args.length >= 2 && args[0].equals("info")) {
+            long t0 = System.nanoTime();
+            MappedQuestionBank b = open(Paths.get(args[1]));
+            double openMs = (System.nanoTime() - t0) / 1e6;
+            int[][] perTopic = new int[b.topicCount()][MAX_DIFFICULTY + 1];
+            for (int i = 0; i < b.size(); i++) perTopic[b.topic(i)][b.difficulty(i)]++;
+            System.out.printf("%s: %d perguntas, id %016x, aberto em %.2f ms%n", args[1], b.size(), b.id(), openMs);
+            for (int t = 0; t < b.topicCount(); t++) {
+                StringBuilder s = new StringBuilder();
+                for (int d = 1; d <= MAX_DIFFICULTY; d++) s.append(' ').append(d).append(':').append(perTopic[t][d]);
+                System.out.printf("  %-24s%s%n", b.topicName(t), s);
+            }
+        } else if (args.length >= 2 && args[0].equals("export-default")) {
+            exportDefault(Paths.get(args[1]));
+        } else {
+            System.err.println("uso: MappedQuestionBank build <fonte.csv> <banco.fqb> | info <banco.fqb> | export-default <fonte.csv>");
+            System.exit(2);
+        }
+    }
+}
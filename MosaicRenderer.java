@@ -0,0 +1,251 @@
+package FlappyBird;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Rasterizador em software do mosaico de espectador: várias partidas em miniatura
+// num só framebuffer int[] (BufferedImage TYPE_INT_RGB). O framebuffer é cortado
+// em tiles TILE×TILE desenhados em paralelo num ForkJoinPool; cada tile só escreve
+// nos próprios pixels, então não há trava nem ordem entre eles. Primitivas:
+// retângulo sólido, contorno de 1px, sprite com alfa, escurecimento e dígitos 3x5.
+final class MosaicRenderer {
+    static final int TILE = 64;
+    static final int GAP = 2;              // borda entre as células
+    private static final int FONT_SCALE = 2;
+    private static final int BORDER = 0x05070f;
+    private static final int WHITE = 0xffffff;
+
+    // Dígitos 0-9 e '?' em 3x5, linha a linha a partir do bit 14
+    private static final int[] DIGITS = {
+        0b111_101_101_101_111, 0b010_110_010_010_111, 0b111_001_111_100_111, 0b111_001_111_001_111,
+        0b101_101_111_001_001, 0b111_100_111_001_111, 0b111_100_111_101_111, 0b111_001_001_001_001,
+        0b111_101_111_101_111, 0b111_101_111_001_111,
+    };
+    private static final int QUESTION_MARK = 0b111_001_011_000_010;
+
+    // Quadro de saída: imagem, pixels e o tempo de cada tile
+    static final class Frame {
+        final BufferedImage image;
+        final int[] px;
+        final long[] tileNs;
+        long renderNs;
+
+        Frame(int w, int h, int tiles) {
+            image = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+            px = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+            tileNs = new long[tiles];
+        }
+    }
+
+    final int cols, rows, cellW, cellH;
+    final int width, height, tilesX, tilesY;
+    private final int W, H; // mundo
+    private final int[] sky; // cor de cada linha da célula (gradiente + chão)
+    private final int[] bird;
+    private final int birdW, birdH;
+    private final Tile[] tiles;
+    private final ForkJoinPool pool;
+
+    // Entrada do quadro em desenho (publicada aos workers pelo invoke)
+    private WorldSnapshot[] cells;
+    private Frame target;
+
+    MosaicRenderer(int cols, int rows, int cellW, int worldW, int worldH, int threads) {
+        if (cols <= 0 || rows <= 0 || cellW < 16) throw new IllegalArgumentException("bad mosaic geometry");
+        this.cols = cols;
+        this.rows = rows;
+        this.W = worldW;
+        this.H = worldH;
+        this.cellW = cellW;
+        this.cellH = cellW * worldH / worldW;
+        this.width = GAP + cols * (cellW + GAP);
+        this.height = GAP + rows * (cellH + GAP);
+        this.tilesX = (width + TILE - 1) / TILE;
+        this.tilesY = (height + TILE - 1) / TILE;
+        this.tiles = new Tile[tilesX * tilesY];
+        for (int i = 0; i < tiles.length; i++) tiles[i] = new Tile(i);
+        this.pool = new ForkJoinPool(threads);
+
+        // Fundo: mesmas cores do jogo, uma por linha da célula
+        sky = new int[cellH];
+        int ground = sy(worldH - GameSim.GROUND_H);
+        int top = RenderCache.SKY_TOP.getRGB(), bottom = RenderCache.SKY_BOTTOM.getRGB();
+        for (int y = 0; y < cellH; y++) sky[y] = (y >= ground) ? RenderCache.GROUND.getRGB() & WHITE : mix(top, bottom, y, cellH);
+
+        // Sprite do bird rasterizado uma vez na escala da célula (ARGB não pré-multiplicado)
+        double s = (double) cellW / worldW;
+        birdW = (int) Math.ceil((GameSim.BIRD_W + 12) * s) + 1;
+        birdH = (int) Math.ceil((GameSim.BIRD_H + 2) * s) + 1;
+        BufferedImage sprite = new BufferedImage(birdW, birdH, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D g = sprite.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.scale(s, s);
+        RenderCache.paintBirdVector(g, 1, 1);
+        g.dispose();
+        bird = ((DataBufferInt) sprite.getRaster().getDataBuffer()).getData();
+    }
+
+    Frame newFrame() { return new Frame(width, height, tiles.length); }
+
+    int tileCount() { return tiles.length; }
+
+    // Célula da sessão i (ordem de leitura); sessões além da grade são ignoradas
+    void render(WorldSnapshot[] sessions, Frame out) {
+        long t0 = System.nanoTime();
+        cells = sessions;
+        target = out;
+        pool.invoke(new Tiles(0, tiles.length));
+        cells = null;
+        target = null;
+        out.renderNs = System.nanoTime() - t0;
+    }
+
+    void shutdown() { pool.shutdownNow(); }
+
+    @SuppressWarnings("serial")
+    private final class Tiles extends RecursiveAction {
+        final int lo, hi;
+
+        Tiles(int lo, int hi) { this.lo = lo; this.hi = hi; }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) { tiles[lo].render(cells, target); return; }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new Tiles(lo, mid), new Tiles(mid, hi));
+        }
+    }
+
+    // Mundo -> célula (floorDiv: canos saindo pela esquerda têm x negativo)
+    private int sx(int x) { return Math.floorDiv(x * cellW, W); }
+    private int sy(int y) { return Math.floorDiv(y * cellH, H); }
+
+    private static int mix(int a, int b, int i, int n) {
+        int r = ((a >> 16) & 0xff) + (((b >> 16) & 0xff) - ((a >> 16) & 0xff)) * i / n;
+        int g = ((a >> 8) & 0xff) + (((b >> 8) & 0xff) - ((a >> 8) & 0xff)) * i / n;
+        int bl = (a & 0xff) + ((b & 0xff) - (a & 0xff)) * i / n;
+        return r << 16 | g << 8 | bl;
+    }
+
+    // ---------- Tile ----------
+    // Um retângulo do framebuffer; o clip atual é a interseção com a célula em desenho
+    private final class Tile {
+        final int x0, y0, x1, y1;
+        int cx0, cy0, cx1, cy1;
+        int[] px;
+
+        Tile(int i) {
+            x0 = (i % tilesX) * TILE;
+            y0 = (i / tilesX) * TILE;
+            x1 = Math.min(width, x0 + TILE);
+            y1 = Math.min(height, y0 + TILE);
+        }
+
+        void render(WorldSnapshot[] sessions, Frame out) {
+            long t0 = System.nanoTime();
+            px = out.px;
+            for (int y = y0; y < y1; y++) Arrays.fill(px, y * width + x0, y * width + x1, BORDER);
+            int stride = cellW + GAP;
+            int c0 = Math.max(0, (x0 - GAP) / stride), c1 = Math.min(cols - 1, (x1 - 1 - GAP) / stride);
+            int r0 = Math.max(0, (y0 - GAP) / (cellH + GAP)), r1 = Math.min(rows - 1, (y1 - 1 - GAP) / (cellH + GAP));
+            for (int r = r0; r <= r1; r++) {
+                for (int c = c0; c <= c1; c++) {
+                    int i = r * cols + c;
+                    if (i < sessions.length && sessions[i] != null) {
+                        cell(sessions[i], GAP + c * stride, GAP + r * (cellH + GAP));
+                    }
+                }
+            }
+            px = null;
+            out.tileNs[(y0 / TILE) * tilesX + x0 / TILE] = System.nanoTime() - t0;
+        }
+
+        private void cell(WorldSnapshot w, int ox, int oy) {
+            cx0 = Math.max(x0, ox); cx1 = Math.min(x1, ox + cellW);
+            cy0 = Math.max(y0, oy); cy1 = Math.min(y1, oy + cellH);
+            if (cx0 >= cx1 || cy0 >= cy1) return;
+
+            for (int y = cy0; y < cy1; y++) Arrays.fill(px, y * width + cx0, y * width + cx1, sky[y - oy]);
+            int fill = RenderCache.PIPE_FILL.getRGB() & WHITE, edge = RenderCache.PIPE_EDGE.getRGB() & WHITE;
+            for (int i = 0, n = w.pipeCount; i < n; i++) {
+                int x = w.lerp(w.lastX[i], w.x[i]);
+                int l = ox + sx(x), r = ox + sx(x + GameSim.PIPE_W) + 1;
+                pipe(l, oy, r, oy + sy(w.topH[i]) + 1, fill, edge);
+                pipe(l, oy + sy(w.botY[i]), r, oy + sy(w.botY[i] + w.botH[i]) + 1, fill, edge);
+            }
+            sprite(ox + sx(w.birdX - 1), oy + sy(w.lerp(w.prevBirdY, w.birdY) - 1));
+
+            if (w.inQuiz) {
+                dim(0);
+                glyph(QUESTION_MARK, ox + cellW / 2 - 3 * FONT_SCALE, oy + cellH / 2 - 5 * FONT_SCALE, FONT_SCALE * 2, WHITE);
+            } else if (w.gameOver) {
+                dim(0x280000);
+            }
+            number(w.score, ox + 4, oy + 4, WHITE);
+        }
+
+        // ---------- Primitivas (todas recortadas pelo clip) ----------
+        private void rect(int l, int t, int r, int b, int color) {
+            l = Math.max(l, cx0); r = Math.min(r, cx1);
+            t = Math.max(t, cy0); b = Math.min(b, cy1);
+            if (l >= r) return;
+            for (int y = t; y < b; y++) Arrays.fill(px, y * width + l, y * width + r, color);
+        }
+
+        private void pipe(int l, int t, int r, int b, int fill, int edge) {
+            if (r <= cx0 || l >= cx1 || b <= cy0 || t >= cy1) return;
+            rect(l, t, r, b, fill);
+            rect(l, t, r, t + 1, edge);
+            rect(l, b - 1, r, b, edge);
+            rect(l, t, l + 1, b, edge);
+            rect(r - 1, t, r, b, edge);
+        }
+
+        private void sprite(int sx0, int sy0) {
+            int l = Math.max(sx0, cx0), r = Math.min(sx0 + birdW, cx1);
+            int t = Math.max(sy0, cy0), b = Math.min(sy0 + birdH, cy1);
+            for (int y = t; y < b; y++) {
+                int src = (y - sy0) * birdW - sx0, dst = y * width;
+                for (int x = l; x < r; x++) {
+                    int s = bird[src + x];
+                    int a = s >>> 24;
+                    if (a == 0) continue;
+                    if (a == 255) { px[dst + x] = s & WHITE; continue; }
+                    int d = px[dst + x];
+                    int rb = ((s & 0xff00ff) * a + (d & 0xff00ff) * (255 - a)) >>> 8 & 0xff00ff;
+                    int g = ((s & 0x00ff00) * a + (d & 0x00ff00) * (255 - a)) >>> 8 & 0x00ff00;
+                    px[dst + x] = rb | g;
+                }
+            }
+        }
+
+        // Metade do brilho, mais uma tinta opcional (sem estouro: cada canal <= 0x7f + tinta)
+        private void dim(int tint) {
+            for (int y = cy0; y < cy1; y++) {
+                for (int i = y * width + cx0, end = y * width + cx1; i < end; i++) {
+                    px[i] = ((px[i] >> 1) & 0x7f7f7f) + tint;
+                }
+            }
+        }
+
+        private void glyph(int bits, int gx, int gy, int scale, int color) {
+            for (int row = 0; row < 5; row++) {
+                for (int col = 0; col < 3; col++) {
+                    if ((bits >> (14 - row * 3 - col) & 1) == 0) continue;
+                    rect(gx + col * scale, gy + row * scale, gx + (col + 1) * scale, gy + (row + 1) * scale, color);
+                }
+            }
+        }
+
+        private void number(int n, int nx, int ny, int color) {
+            int d = 1;
+            while (d <= n / 10) d *= 10;
+            for (; d > 0; d /= 10, nx += 4 * FONT_SCALE) glyph(DIGITS[n / d % 10], nx, ny, FONT_SCALE, color);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package FlappyBird;
+
+// Canos em buffer circular pré-alocado (struct-of-arrays).
+// Sem objetos por cano: o tick e o desenho só leem int[].
+final class PipeRing {
+    final int capacity, mask;
+    final int[] x, lastX, gapY, gapH, speed;
+    final long[] scored; // bitset por slot
+    int head, size;
+
+    PipeRing(int capacity) {
+        if (Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("capacity must be a power of two: " + capacity);
+        this.capacity = capacity;
+        this.mask = capacity - 1;
+        x = new int[capacity]; lastX = new int[capacity];
+        gapY = new int[capacity]; gapH = new int[capacity]; speed = new int[capacity];
+        scored = new long[(capacity + 63) >>> 6];
+    }
+
+    // Slot do i-ésimo cano (0 = mais antigo)
+    int slot(int i) { return (head + i) & mask; }
+
+    int lastSlot() { return slot(size - 1); }
+
+    boolean isEmpty() { return size == 0; }
+
+    boolean isFull() { return size == capacity; }
+
+    // Reserva um slot no fim e devolve o índice; cheio é erro de quem chama (veja isFull)
+    int add(int px, int pGapY, int pGapH, int pSpeed) {
+        if (size == capacity) throw new IllegalStateException("pipe ring full (capacity " + capacity + ")");
+        int k = slot(size++);
+        x[k] = px; lastX[k] = px; gapY[k] = pGapY; gapH[k] = pGapH; speed[k] = pSpeed;
+        setScored(k, false);
+        return k;
+    }
+
+    // Remove o i-ésimo cano; quase sempre i == 0 (sai pela esquerda)
+    void remove(int i) {
+        for (int j = i; j > 0; j--) moveSlot(slot(j - 1), slot(j));
+        head = (head + 1) & mask;
+        size--;
+    }
+
+    void clear() { head = 0; size = 0; }
+
+    boolean isScored(int k) { return (scored[k >>> 6] & (1L << k)) != 0; }
+
+    void setScored(int k, boolean v) {
+        if (v) scored[k >>> 6] |= 1L << k;
+        else scored[k >>> 6] &= ~(1L << k);
+    }
+
+    int topH(int k) { return Math.max(0, gapY[k] - gapH[k]/2); }
+    int botY(int k) { return gapY[k] + gapH[k]/2; }
+    int botH(int k, int H) { return Math.max(0, H - (gapY[k] + gapH[k]/2)); }
+
+    void copyFrom(PipeRing o) {
+        if (o.capacity != capacity) throw new IllegalArgumentException("capacity mismatch");
+        System.arraycopy(o.x, 0, x, 0, capacity);
+        System.arraycopy(o.lastX, 0, lastX, 0, capacity);
+        System.arraycopy(o.gapY, 0, gapY, 0, capacity);
+        System.arraycopy(o.gapH, 0, gapH, 0, capacity);
+        System.arraycopy(o.speed, 0, speed, 0, capacity);
+        System.arraycopy(o.scored, 0, scored, 0, scored.length);
+        head = o.head; size = o.size;
+    }
+
+    private void moveSlot(int from, int to) {
+        x[to] = x[from]; lastX[to] = lastX[from];
+        gapY[to] = gapY[from]; gapH[to] = gapH[from]; speed[to] = speed[from];
+        setScored(to, isScored(from));
+    }
+}
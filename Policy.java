@@ -0,0 +1,18 @@
+package FlappyBird;
+
+// Decide a entrada do próximo tick a partir do estado da simulação (bots, autoplay).
+interface Policy {
+    int input(GameSim s);
+
+    // Heurística: mira o centro do vão do próximo cano; acerta sempre o quiz
+    Policy HEURISTIC = s -> {
+        if (s.inQuiz) return GameSim.answerInput(s.correctIdx);
+        int target = s.H / 2;
+        PipeRing r = s.pipes;
+        for (int i = 0; i < r.size; i++) {
+            int k = r.slot(i);
+            if (r.x[k] + GameSim.PIPE_W >= s.birdX) { target = r.gapY[k]; break; }
+        }
+        return (s.birdY > target + 10 && s.birdVel > 0) ? GameSim.IN_FLAP : 0;
+    };
+}
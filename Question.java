@@ -0,0 +1,51 @@
+package FlappyBird;
+
+// QUIZ -----------
+final class Question {
+    final String text; final String[] opts; final int correct; // 0..3
+    Question(String t, String[] o, int c){ text=t; opts=o; correct=c; }
+
+    static final Question[] DEFAULT_BANK = new Question[]{
+        new Question("O que é um processo em um sistema operacional?",
+            new String[]{"Um arquivo armazenado em disco",
+                         "Um programa em execução com seu próprio espaço de endereçamento",
+                         "Uma thread dentro de um programa",
+                         "Um serviço de rede"}, 1),
+        new Question("Qual afirmação diferencia corretamente processos de threads?",
+            new String[]{"Threads têm espaço de endereçamento próprio e processos compartilham memória",
+                         "Processos e threads sempre compartilham o mesmo espaço de endereçamento",
+                         "Threads compartilham o espaço de endereçamento do processo onde existem",
+                         "Processos não podem executar em paralelo"}, 2),
+        new Question("Um benefício comum do uso de threads é:",
+            new String[]{"Comutação de contexto mais lenta que entre processos",
+                         "Comunicação mais rápida entre unidades por compartilharem memória",
+                         "Necessitar mais memória do que processos",
+                         "Impedir paralelismo"}, 1),
+        new Question("Em Java, para iniciar a execução concorrente de uma thread criada, deve-se chamar:",
+            new String[]{"run()", "execute()", "start()", "init()"}, 2),
+        new Question("Uma thread que está aguardando término de E/S está, tipicamente, no estado:",
+            new String[]{"Running", "Runnable", "Not Runnable/Bloqueada", "Dead, mas revivível"}, 2),
+        new Question("Uma condição de corrida ocorre quando:",
+            new String[]{"Duas threads possuem prioridades iguais",
+                         "Duas threads acessam dados compartilhados sem sincronização e o resultado depende da interleaving",
+                         "O SO impede duas threads de executarem ao mesmo tempo",
+                         "Há apenas uma CPU disponível"}, 1),
+        new Question("O objetivo da exclusão mútua em regiões críticas é:",
+            new String[]{"Aumentar a prioridade das threads",
+                         "Garantir que várias threads atualizem o mesmo dado simultaneamente",
+                         "Garantir que, por vez, apenas uma thread acesse o recurso compartilhado",
+                         "Reduzir o uso de memória do processo"}, 2),
+        new Question("Em Java, o modificador volatile serve principalmente para:",
+            new String[]{"Tornar operações como i++ atômicas",
+                         "Prevenir deadlocks",
+                         "Garantir visibilidade de memória entre threads",
+                         "Forçar a thread a dormir após escrita"}, 2),
+        new Question("Sobre escalonamento de threads, é correto afirmar que:",
+            new String[]{"Apenas threads no estado Runnable podem ser escolhidas para executar",
+                         "Threads em estado Dead são escalonadas com baixa prioridade",
+                         "O escalonador só escolhe threads com prioridade máxima",
+                         "Threads bloqueadas são sempre executadas primeiro"}, 0),
+        new Question("Na Taxonomia de Flynn, múltiplas instruções sobre múltiplos dados é:",
+            new String[]{"SISD","SIMD","MISD","MIMD"}, 3)
+    };
+}
@@ -0,0 +1,129 @@
+package FlappyBird;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Banco de perguntas somente leitura, compartilhado por todas as sessões do JVM.
+// Cada pergunta tem tópico (0..31) e dificuldade (1..5) para o filtro do QuizDeck.
+// id() é um hash do conteúdo: replays gravam o id para re-simular com o mesmo banco.
+interface QuestionBank {
+    int size();
+    Question get(int i);
+    int topic(int i);
+    int difficulty(int i);
+    int topicCount();
+    String topicName(int t);
+    long id();
+
+    // Conjunto de perguntas que passam no filtro (bitset; não alterar). 0 = sem filtro
+    long[] eligible(int topicMask, int minDifficulty, int maxDifficulty);
+
+    int MAX_TOPICS = 32, MAX_DIFFICULTY = 5;
+
+    QuestionBank DEFAULT = new ArrayBank(Question.DEFAULT_BANK, "Concorrência");
+
+    // -Dflappy.questionBank=arquivo.fqb (banco mapeado), senão o banco embutido
+    static QuestionBank fromSystemProperty() {
+        String path = System.getProperty("flappy.questionBank");
+        if (path == null) return DEFAULT;
+        try {
+            return MappedQuestionBank.shared(Paths.get(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException("cannot open question bank " + path, e);
+        }
+    }
+
+    // -Dflappy.quizTopics=nome,nome (tópicos do banco) e -Dflappy.quizDifficulty=min-max
+    static void applyFilterProperties(GameConfig cfg, QuestionBank bank) {
+        String topics = System.getProperty("flappy.quizTopics");
+        if (topics != null && !topics.isBlank()) {
+            int mask = 0;
+            for (String name : topics.split(",")) {
+                int t = -1;
+                for (int i = 0; i < bank.topicCount(); i++) if (bank.topicName(i).equalsIgnoreCase(name.trim())) t = i;
+                if (t < 0) throw new IllegalArgumentException("unknown quiz topic: " + name.trim());
+                mask |= 1 << t;
+            }
+            cfg.quizTopics = mask;
+        }
+        String diff = System.getProperty("flappy.quizDifficulty");
+        if (diff != null && !diff.isBlank()) {
+            int dash = diff.indexOf('-');
+            cfg.quizMinDifficulty = Integer.parseInt(diff.substring(0, dash < 0 ? diff.length() : dash).trim());
+            cfg.quizMaxDifficulty = dash < 0 ? cfg.quizMinDifficulty : Integer.parseInt(diff.substring(dash + 1).trim());
+        }
+    }
+
+    // Banco com o id dado entre os já abertos (ou o da propriedade); null se nenhum
+    static QuestionBank forId(long id) {
+        if (DEFAULT.id() == id) return DEFAULT;
+        QuestionBank b = MappedQuestionBank.findOpen(id);
+        if (b == null && System.getProperty("flappy.questionBank") != null) {
+            b = fromSystemProperty();
+            if (b.id() != id) b = null;
+        }
+        return b;
+    }
+
+    // FNV-1a 64 sobre os campos de uma pergunta (mesma conta no conversor e no banco embutido)
+    static long hash(long h, Question q, int topic, int difficulty) {
+        h = hash(h, q.text);
+        for (String o : q.opts) h = hash(h, o);
+        h = (h ^ q.correct) * 0x100000001b3L;
+        h = (h ^ topic) * 0x100000001b3L;
+        return (h ^ difficulty) * 0x100000001b3L;
+    }
+
+    static long hash(long h, String s) {
+        for (byte c : s.getBytes(StandardCharsets.UTF_8)) h = (h ^ (c & 0xFF)) * 0x100000001b3L;
+        return (h ^ 0xFF) * 0x100000001b3L; // separador
+    }
+
+    long HASH_SEED = 0xcbf29ce484222325L;
+
+    // Filtro comum às implementações
+    static long[] computeEligible(QuestionBank bank, int topicMask, int minDifficulty, int maxDifficulty) {
+        int n = bank.size();
+        long[] set = new long[(n + 63) >>> 6];
+        for (int i = 0; i < n; i++) {
+            if (topicMask != 0 && (topicMask & (1 << bank.topic(i))) == 0) continue;
+            int d = bank.difficulty(i);
+            if (minDifficulty != 0 && d < minDifficulty) continue;
+            if (maxDifficulty != 0 && d > maxDifficulty) continue;
+            set[i >>> 6] |= 1L << i;
+        }
+        return set;
+    }
+
+    // Banco em memória (o embutido): um tópico, dificuldade 1
+    final class ArrayBank implements QuestionBank {
+        private final Question[] questions;
+        private final String topic;
+        private final long id;
+        private final ConcurrentHashMap<Long, long[]> filters = new ConcurrentHashMap<>();
+
+        ArrayBank(Question[] questions, String topic) {
+            this.questions = questions;
+            this.topic = topic;
+            long h = HASH_SEED;
+            for (Question q : questions) h = hash(h, q, 0, 1);
+            this.id = h;
+        }
+
+        @Override public int size() { return questions.length; }
+        @Override public Question get(int i) { return questions[i]; }
+        @Override public int topic(int i) { return 0; }
+        @Override public int difficulty(int i) { return 1; }
+        @Override public int topicCount() { return 1; }
+        @Override public String topicName(int t) { return topic; }
+        @Override public long id() { return id; }
+
+        @Override public long[] eligible(int topicMask, int minDifficulty, int maxDifficulty) {
+            long key = ((long) topicMask << 32) | (minDifficulty << 8) | maxDifficulty;
+            return filters.computeIfAbsent(key, k -> computeEligible(this, topicMask, minDifficulty, maxDifficulty));
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package FlappyBird;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+
+// Cartão do quiz (título, pergunta, 4 alternativas, instrução) rasterizado uma vez
+// por pergunta/embaralhamento/tamanho numa imagem; durante o quiz o quadro é só
+// o escurecimento + um blit. paintCard() é o desenho vetorial usado para gerar a imagem.
+final class QuizCard {
+    static final Color DIM = new Color(0, 0, 0, 170);
+    private static final Color CARD_FILL = new Color(246, 247, 255);
+    private static final Color CARD_EDGE = new Color(60, 68, 128);
+    private static final Color INK = new Color(26, 32, 58);
+    private static final Color QUESTION_FILL = new Color(230, 234, 255);
+    private static final Color QUESTION_EDGE = new Color(100, 112, 170);
+    private static final Color OPT_FILL = new Color(244, 245, 255);
+    private static final Color OPT_EDGE = new Color(162, 172, 210);
+    private static final Color OPT_LABEL = new Color(46, 52, 94);
+    private static final Color OPT_TEXT = new Color(58, 64, 102);
+    private static final Color HINT = new Color(74, 82, 122);
+    private static final BasicStroke EDGE_STROKE = new BasicStroke(2f);
+    private static final String[] LABELS = {"[1] A", "[2] B", "[3] C", "[4] D"};
+
+    private final Font fTitle, fBig, optLabelFont, optTextFont, hintFont;
+
+    // Chave do cache: pergunta + alternativas (referências imutáveis) + tamanho + dispositivo
+    private Question question;
+    private final String[] options = new String[4];
+    private int w, h;
+    private GraphicsConfiguration gc;
+    private BufferedImage image;
+    private int imageX, imageY;
+
+    QuizCard(Font fTitle, Font fBig, Font fSmall) {
+        this.fTitle = fTitle;
+        this.fBig = fBig;
+        this.optLabelFont = fSmall.deriveFont(Font.BOLD, 18f);
+        this.optTextFont = fSmall.deriveFont(16f);
+        this.hintFont = fSmall.deriveFont(Font.PLAIN, 16f);
+    }
+
+    // Desenha o cartão a partir do cache, refazendo a imagem só se a chave mudou
+    void draw(Graphics2D g2, WorldSnapshot s, int W, int H, GraphicsConfiguration config) {
+        if (!matches(s, W, H, config)) rebuild(s, W, H, config);
+        g2.drawImage(image, imageX, imageY, null);
+    }
+
+    private boolean matches(WorldSnapshot s, int W, int H, GraphicsConfiguration config) {
+        if (image == null || s.question != question || W != w || H != h || config != gc) return false;
+        for (int i = 0; i < 4; i++) if (s.options[i] != options[i]) return false;
+        return true;
+    }
+
+    private void rebuild(WorldSnapshot s, int W, int H, GraphicsConfiguration config) {
+        question = s.question;
+        System.arraycopy(s.options, 0, options, 0, 4);
+        w = W; h = H; gc = config;
+
+        int cardW = (int) (W * 0.8);
+        int cardH = Math.min((int) (H * 0.85), H - 40);
+        // Folga de 2px para a borda de 2px em volta do cartão
+        imageX = (W - cardW) / 2 - 2;
+        imageY = (H - cardH) / 2 - 2;
+        int iw = cardW + 5, ih = cardH + 5;
+        image = (gc != null) ? gc.createCompatibleImage(iw, ih, Transparency.TRANSLUCENT)
+                             : new BufferedImage(iw, ih, BufferedImage.TYPE_INT_ARGB_PRE);
+        Graphics2D g = image.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        g.translate(-imageX, -imageY);
+        paintCard(g, question, options, W, H);
+        g.dispose();
+    }
+
+    // ---------- Desenho vetorial ----------
+    void paintCard(Graphics2D g2, Question q, String[] opts, int W, int H) {
+        int cardW = (int) (W * 0.8);
+        int cardH = Math.min((int) (H * 0.85), H - 40);
+        int cx = (W - cardW) / 2;
+        int cy = (H - cardH) / 2;
+
+        g2.setColor(CARD_FILL);
+        g2.fillRoundRect(cx, cy, cardW, cardH, 24, 24);
+        Stroke previousStroke = g2.getStroke();
+        g2.setStroke(EDGE_STROKE);
+        g2.setColor(CARD_EDGE);
+        g2.drawRoundRect(cx, cy, cardW, cardH, 24, 24);
+        g2.setStroke(previousStroke);
+
+        int padding = 32;
+        int columnGap = 18;
+        int optHeight = 70;
+        int optGapY = 16;
+        int instructionY = cy + cardH - padding - 12;
+        int maxOptionsBottom = instructionY - 36;
+        int optionsAreaHeight = optHeight * 2 + optGapY;
+        int titleY = cy + padding + 30;
+
+        g2.setFont(fTitle);
+        g2.setColor(INK);
+        drawCentered(g2, "Checkpoint: responda para continuar!", W, titleY);
+
+        int questionTop = titleY + 26;
+        int questionDesired = Math.max(120, (int) (cardH * 0.32));
+        int questionMaxHeight = maxOptionsBottom - optionsAreaHeight - questionTop - 24;
+        int questionBoxHeight;
+        if (questionMaxHeight <= 0) {
+            questionBoxHeight = 0;
+        } else if (questionMaxHeight < 110) {
+            questionBoxHeight = questionMaxHeight;
+        } else {
+            questionBoxHeight = Math.max(110, Math.min(questionDesired, questionMaxHeight));
+        }
+
+        int questionBoxX = cx + padding;
+        int questionBoxW = cardW - padding * 2;
+        g2.setColor(QUESTION_FILL);
+        g2.fillRoundRect(questionBoxX, questionTop, questionBoxW, questionBoxHeight, 18, 18);
+        g2.setColor(QUESTION_EDGE);
+        g2.drawRoundRect(questionBoxX, questionTop, questionBoxW, questionBoxHeight, 18, 18);
+
+        g2.setFont(fBig);
+        g2.setColor(INK);
+        String questionText = (q != null) ? q.text : "";
+        drawWrapped(g2, questionText, questionBoxX + 22, questionTop + 36, questionBoxW - 44, 26);
+
+        int optionsTop = questionTop + questionBoxHeight + 24;
+        if (optionsTop + optionsAreaHeight > maxOptionsBottom) {
+            optionsTop = Math.max(questionTop + 24, maxOptionsBottom - optionsAreaHeight);
+        }
+
+        int optionsLeft = questionBoxX;
+        int optionsWidth = questionBoxW;
+        int columnWidth = (optionsWidth - columnGap) / 2;
+        for (int i = 0; i < 4; i++) {
+            int col = i % 2;
+            int row = i / 2;
+            int x = optionsLeft + col * (columnWidth + columnGap);
+            int y = optionsTop + row * (optHeight + optGapY);
+            drawOptionCard(g2, LABELS[i], opts[i], x, y, columnWidth, optHeight);
+        }
+
+        g2.setFont(hintFont);
+        g2.setColor(HINT);
+        drawCentered(g2, "Use 1-4 ou A-D para responder. Errou = game over.", W, instructionY);
+    }
+
+    private void drawOptionCard(Graphics2D g2, String label, String text, int x, int y, int width, int height) {
+        int arc = 18;
+        int innerPad = 18;
+        g2.setColor(OPT_FILL);
+        g2.fillRoundRect(x, y, width, height, arc, arc);
+        g2.setColor(OPT_EDGE);
+        g2.drawRoundRect(x, y, width, height, arc, arc);
+
+        g2.setFont(optLabelFont);
+        g2.setColor(OPT_LABEL);
+        int labelBaseline = y + 26;
+        g2.drawString(label, x + innerPad, labelBaseline);
+
+        g2.setFont(optTextFont);
+        g2.setColor(OPT_TEXT);
+        drawWrapped(g2, text, x + innerPad, labelBaseline + 20, width - innerPad * 2, 20);
+    }
+
+    static void drawCentered(Graphics2D g2, String msg, int W, int y) {
+        FontMetrics fm = g2.getFontMetrics();
+        int x = (W - fm.stringWidth(msg)) / 2;
+        g2.drawString(msg, x, y);
+    }
+
+    static void drawWrapped(Graphics2D g2, String text, int x, int y, int maxW, int lineH) {
+        FontMetrics fm = g2.getFontMetrics();
+        String[] words = text.split(" ");
+        String line = "";
+        int cy = y;
+        for (String w : words) {
+            String test = line.isEmpty() ? w : line + " " + w;
+            if (fm.stringWidth(test) > maxW) {
+                g2.drawString(line, x, cy);
+                cy += lineH;
+                line = w;
+            } else line = test;
+        }
+        if (!line.isEmpty()) g2.drawString(line, x, cy);
+    }
+}
@@ -0,0 +1,69 @@
+package FlappyBird;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Sorteio de perguntas sem repetição por sessão: bitset das já vistas sobre o
+// conjunto elegível do filtro (compartilhado, do banco). Quando todas as
+// elegíveis foram vistas, recomeça. Custo por sorteio: O(tamanho do banco / 64).
+final class QuizDeck {
+    private final long[] eligible;
+    private final long[] seen;
+    private final int eligibleCount;
+    private int seenCount;
+
+    QuizDeck(QuestionBank bank, int topicMask, int minDifficulty, int maxDifficulty) {
+        this.eligible = bank.eligible(topicMask, minDifficulty, maxDifficulty);
+        this.seen = new long[eligible.length];
+        int n = 0;
+        for (long w : eligible) n += Long.bitCount(w);
+        if (n == 0) throw new IllegalArgumentException("no questions match topics=" + Integer.toHexString(topicMask)
+            + " difficulty=" + minDifficulty + ".." + maxDifficulty);
+        this.eligibleCount = n;
+    }
+
+    // Consome um nextInt(elegíveis - vistas), não mais nextInt(10) como o sorteio
+    // antigo com repetição: a partir do segundo quiz a pergunta sorteada é outra.
+    // Partidas de quem sempre acerta (Policy.HEURISTIC) não mudam; as de quem erra,
+    // sim (e replays v1 são recusados)
+    int draw(GameSim.Rng rng) {
+        if (seenCount == eligibleCount) clear();
+        int k = rng.nextInt(eligibleCount - seenCount);
+        for (int w = 0; w < eligible.length; w++) {
+            long avail = eligible[w] & ~seen[w];
+            int c = Long.bitCount(avail);
+            if (k >= c) { k -= c; continue; }
+            for (; k > 0; k--) avail &= avail - 1; // descarta os k menores
+            int bit = Long.numberOfTrailingZeros(avail);
+            seen[w] |= 1L << bit;
+            seenCount++;
+            return (w << 6) + bit;
+        }
+        throw new IllegalStateException("seen-set out of sync");
+    }
+
+    void clear() {
+        Arrays.fill(seen, 0);
+        seenCount = 0;
+    }
+
+    int seenCount() { return seenCount; }
+
+    // Snapshot: nº de vistas + índices em ordem crescente
+    void writeTo(ByteBuffer b) {
+        b.putInt(seenCount);
+        for (int w = 0; w < seen.length; w++) {
+            for (long m = seen[w]; m != 0; m &= m - 1) b.putInt((w << 6) + Long.numberOfTrailingZeros(m));
+        }
+    }
+
+    void readFrom(ByteBuffer b) {
+        clear();
+        int n = b.getInt();
+        for (int i = 0; i < n; i++) {
+            int q = b.getInt();
+            seen[q >>> 6] |= 1L << q;
+        }
+        seenCount = n;
+    }
+}
@@ -0,0 +1,122 @@
+package FlappyBird;
+
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.awt.image.VolatileImage;
+
+// Rasteriza uma vez o fundo (gradiente + chão), os tiles de cano e o sprite do
+// bird; por quadro o desenho vira só blit de imagem. O fundo fica numa
+// VolatileImage quando há tela (recriada se perdida), senão numa BufferedImage.
+final class RenderCache {
+    static final Color SKY_TOP = new Color(12,18,48);
+    static final Color SKY_BOTTOM = new Color(20,28,70);
+    static final Color GROUND = new Color(40,45,80);
+    static final Color PIPE_FILL = new Color(90, 210, 140);
+    static final Color PIPE_EDGE = new Color(60,150,100);
+    static final Color BIRD_BODY = new Color(250,220,90);
+    static final Color BIRD_BEAK = new Color(255,140,60);
+
+    // Tile do cano: linha 0 = borda de cima, linha 2 = corpo, linha 4 = borda de baixo
+    private static final int PIPE_TILE_W = GameSim.PIPE_W + 2;
+    private static final int CAP_TOP = 0, BODY = 2, CAP_BOTTOM = 4;
+    // Sprite do bird com 1px de folga para o antialiasing
+    private static final int SPRITE_PAD = 1;
+
+    private int w, h;
+    private GraphicsConfiguration gc;
+    private VolatileImage bgVolatile;
+    private BufferedImage bg, pipeTile, bird;
+
+    // Garante o cache para o tamanho/dispositivo atuais (recria em resize)
+    void validate(int width, int height, GraphicsConfiguration config) {
+        if (config == null && !GraphicsEnvironment.isHeadless()) {
+            config = GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice().getDefaultConfiguration();
+        }
+        if (width == w && height == h && config == gc && pipeTile != null) return;
+        w = width; h = height; gc = config;
+        if (bgVolatile != null) { bgVolatile.flush(); bgVolatile = null; }
+
+        bg = compatible(w, h, Transparency.OPAQUE);
+        Graphics2D g = bg.createGraphics();
+        paintBgVector(g, w, h);
+        g.dispose();
+
+        pipeTile = compatible(PIPE_TILE_W, CAP_BOTTOM + 1, Transparency.TRANSLUCENT);
+        g = pipeTile.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        paintPipeRectVector(g, 0, 0, GameSim.PIPE_W, CAP_BOTTOM);
+        g.dispose();
+
+        bird = compatible(GameSim.BIRD_W + 10 + 2 * SPRITE_PAD, GameSim.BIRD_H + 2 * SPRITE_PAD, Transparency.TRANSLUCENT);
+        g = bird.createGraphics();
+        g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        paintBirdVector(g, SPRITE_PAD, SPRITE_PAD);
+        g.dispose();
+    }
+
+    private BufferedImage compatible(int iw, int ih, int transparency) {
+        if (gc != null) return gc.createCompatibleImage(iw, ih, transparency);
+        return new BufferedImage(iw, ih, transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB_PRE);
+    }
+
+    // ---------- Blits ----------
+    void drawBackground(Graphics2D g2) {
+        if (gc == null) { g2.drawImage(bg, 0, 0, null); return; }
+        do {
+            int state = (bgVolatile == null) ? VolatileImage.IMAGE_INCOMPATIBLE : bgVolatile.validate(gc);
+            if (state == VolatileImage.IMAGE_INCOMPATIBLE) {
+                if (bgVolatile != null) bgVolatile.flush();
+                bgVolatile = gc.createCompatibleVolatileImage(w, h, Transparency.OPAQUE);
+                restoreBackground();
+            } else if (state == VolatileImage.IMAGE_RESTORED) {
+                restoreBackground();
+            }
+            g2.drawImage(bgVolatile, 0, 0, null);
+        } while (bgVolatile.contentsLost());
+    }
+
+    private void restoreBackground() {
+        Graphics2D g = bgVolatile.createGraphics();
+        g.drawImage(bg, 0, 0, null);
+        g.dispose();
+    }
+
+    // Mesmo resultado de fillRect + drawRect(x, y, PIPE_W, rh): bordas de 1 linha e corpo esticado
+    void drawPipeRect(Graphics2D g2, int x, int y, int rh) {
+        g2.drawImage(pipeTile, x, y, x + PIPE_TILE_W, y + 1, 0, CAP_TOP, PIPE_TILE_W, CAP_TOP + 1, null);
+        if (rh <= 0) return;
+        if (rh > 1) g2.drawImage(pipeTile, x, y + 1, x + PIPE_TILE_W, y + rh, 0, BODY, PIPE_TILE_W, BODY + 1, null);
+        g2.drawImage(pipeTile, x, y + rh, x + PIPE_TILE_W, y + rh + 1, 0, CAP_BOTTOM, PIPE_TILE_W, CAP_BOTTOM + 1, null);
+    }
+
+    void drawBird(Graphics2D g2, int x, int y) {
+        g2.drawImage(bird, x - SPRITE_PAD, y - SPRITE_PAD, null);
+    }
+
+    // ---------- Desenho vetorial (usado só para rasterizar o cache) ----------
+    static void paintBgVector(Graphics2D g2, int W, int H) {
+        g2.setPaint(new GradientPaint(0,0,SKY_TOP,0,H,SKY_BOTTOM));
+        g2.fillRect(0,0,W,H);
+        g2.setColor(GROUND);
+        g2.fillRect(0, H-GameSim.GROUND_H, W, GameSim.GROUND_H);
+    }
+
+    static void paintPipeRectVector(Graphics2D g2, int x, int y, int w, int h) {
+        g2.setColor(PIPE_FILL);
+        g2.fillRect(x, y, w, h);
+        g2.setColor(PIPE_EDGE);
+        g2.drawRect(x, y, w, h);
+    }
+
+    static void paintBirdVector(Graphics2D g2, int birdX, int birdY) {
+        int bw = GameSim.BIRD_W, bh = GameSim.BIRD_H;
+        g2.setColor(BIRD_BODY);
+        g2.fillRoundRect(birdX, birdY, bw, bh, 10,10);
+        g2.setColor(Color.BLACK);
+        g2.drawRoundRect(birdX, birdY, bw, bh, 10,10);
+        g2.fillOval(birdX + 22, birdY + 6, 6, 6);
+        g2.setColor(BIRD_BEAK);
+        g2.fillPolygon(new int[]{birdX + bw, birdX + bw + 10, birdX + bw},
+                       new int[]{birdY + 8, birdY + 12, birdY + 16}, 3);
+    }
+}
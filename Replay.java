@@ -0,0 +1,247 @@
+package FlappyBird;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+// Leitura de replays (.fpr) por memory-map.
+//
+// Formato (big-endian):
+//   cabeçalho  magic, versão, flags, seed, snapshotEvery, GameConfig, id do banco de perguntas
+//   entradas   pares varint (delta de tick, bits de entrada)
+//   snapshots  GameSim.writeState a cada snapshotEvery ticks
+//   índice     {tick, offset do snapshot, offset nas entradas, tick base do delta} por snapshot
+//   rodapé     offsets das seções, nº de snapshots, tick final, score final, magic
+//
+// Uso: java FlappyBird.Replay info|verify|seek <arquivo|diretório>... [tick]
+final class Replay {
+    static final int MAGIC = 0x46505231; // "FPR1"
+    static final short VERSION = 2; // v2: sorteio do quiz sem repetição + id do banco
+    static final int HEADER_BYTES = 4 + 2 + 2 + 8 + 4 + GameConfig.BYTES + 8;
+    static final int INDEX_ENTRY_BYTES = 4 * 8;
+    static final int FOOTER_BYTES = 4 * 8 + 4 + 8 + 4 + 4;
+
+    final Path path;
+    final long seed;
+    final int snapshotEvery;
+    final GameConfig cfg;
+    final long bankId;
+    final long endTick;
+    final int finalScore;
+    private final ByteBuffer buf;
+    private final int inputsOff, inputsEnd, indexOff, indexCount;
+
+    private Replay(Path path, ByteBuffer buf) throws IOException {
+        this.path = path;
+        this.buf = buf;
+        if (buf.capacity() < HEADER_BYTES + FOOTER_BYTES || buf.getInt(0) != MAGIC || buf.getInt(buf.capacity() - 4) != MAGIC) {
+            throw new IOException("not a replay file: " + path);
+        }
+        if (buf.getShort(4) != VERSION) throw new IOException("unsupported replay version " + buf.getShort(4) + ": " + path);
+        seed = buf.getLong(8);
+        snapshotEvery = buf.getInt(16);
+        cfg = GameConfig.readFrom(buf.duplicate().position(20));
+        bankId = buf.getLong(20 + GameConfig.BYTES);
+
+        ByteBuffer f = buf.duplicate().position(buf.capacity() - FOOTER_BYTES);
+        inputsOff = (int) f.getLong();
+        inputsEnd = inputsOff + (int) f.getLong();
+        f.getLong(); // início dos snapshots
+        indexOff = (int) f.getLong();
+        indexCount = f.getInt();
+        endTick = f.getLong();
+        finalScore = f.getInt();
+        if (indexCount <= 0) throw new IOException("replay without snapshots: " + path);
+    }
+
+    static Replay open(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mb = ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size());
+            return new Replay(path, mb);
+        }
+    }
+
+    static Replay wrap(byte[] image) throws IOException {
+        return new Replay(null, ByteBuffer.wrap(image));
+    }
+
+    int snapshotCount() { return indexCount; }
+
+    long snapshotTick(int i) { return buf.getLong(indexOff + i * INDEX_ENTRY_BYTES); }
+
+    // Último snapshot com tick <= alvo (busca binária no índice)
+    int snapshotAtOrBefore(long tick) {
+        int lo = 0, hi = indexCount - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (snapshotTick(mid) <= tick) lo = mid; else hi = mid - 1;
+        }
+        return lo;
+    }
+
+    // Simulação posicionada no tick pedido: restaura o snapshot mais próximo e
+    // reaplica só as entradas desde ele.
+    GameSim seek(long tick) {
+        GameSim sim = newSim();
+        seek(sim, tick);
+        return sim;
+    }
+
+    // Mesmo, numa simulação de newSim(); devolve o cursor das entradas a partir dali
+    Cursor seek(GameSim sim, long tick) {
+        tick = Math.max(0, Math.min(tick, endTick));
+        Cursor c = restore(sim, snapshotAtOrBefore(tick));
+        while (sim.tick < tick && !sim.gameOver) sim.step(c.inputAt(sim.tick));
+        return c;
+    }
+
+    private Cursor restore(GameSim sim, int snapshot) {
+        int e = indexOff + snapshot * INDEX_ENTRY_BYTES;
+        sim.readState(buf.duplicate().position((int) buf.getLong(e + 8)));
+        return new Cursor(inputsOff + (int) buf.getLong(e + 16), buf.getLong(e + 24));
+    }
+
+    Cursor inputs() { return new Cursor(inputsOff, 0); }
+
+    // Re-simular exige o mesmo banco de perguntas (embutido, já aberto ou -Dflappy.questionBank)
+    GameSim newSim() {
+        QuestionBank bank = QuestionBank.forId(bankId);
+        if (bank == null) throw new IllegalStateException(String.format(
+            "replay %s uses question bank %016x; pass it with -Dflappy.questionBank", path, bankId));
+        return new GameSim(cfg, bank, seed);
+    }
+
+    // Percorre as entradas em ordem de tick
+    final class Cursor {
+        private int pos;
+        private long nextTick = Long.MAX_VALUE;
+        private int nextBits;
+
+        Cursor(int pos, long baseTick) {
+            this.pos = pos;
+            advance(baseTick);
+        }
+
+        private void advance(long base) {
+            if (pos >= inputsEnd) { nextTick = Long.MAX_VALUE; return; }
+            nextTick = base + readVarLong();
+            nextBits = (int) readVarLong();
+        }
+
+        // Entrada do tick t (chamadas com t crescente)
+        int inputAt(long t) {
+            if (t < nextTick) return 0;
+            int bits = nextBits;
+            advance(nextTick);
+            return bits;
+        }
+
+        private long readVarLong() {
+            long v = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = buf.get(pos++);
+                v |= (long) (b & 0x7F) << shift;
+                if (b >= 0) return v;
+            }
+        }
+    }
+
+    // Re-simula do início e confere cada snapshot gravado e o resultado final
+    boolean verify() {
+        GameSim sim = newSim();
+        ByteBuffer scratch = ByteBuffer.allocate(GameSim.STATE_FIXED_BYTES + GameSim.STATE_PIPE_BYTES * GameSim.PIPE_CAPACITY);
+        Cursor c = inputs();
+        for (int s = 0; s < indexCount; s++) {
+            long t = snapshotTick(s);
+            while (sim.tick < t && !sim.gameOver) sim.step(c.inputAt(sim.tick));
+            if (sim.tick != t) return false;
+            if (scratch.capacity() < sim.stateBytes()) scratch = ByteBuffer.allocate(sim.stateBytes());
+            scratch.clear();
+            sim.writeState(scratch);
+            scratch.flip();
+            int off = (int) buf.getLong(indexOff + s * INDEX_ENTRY_BYTES + 8);
+            if (scratch.mismatch(buf.duplicate().position(off).limit(off + scratch.limit())) != -1) return false;
+        }
+        while (sim.tick < endTick && !sim.gameOver) sim.step(c.inputAt(sim.tick));
+        return sim.tick == endTick && sim.score == finalScore;
+    }
+
+    // ---------- varint (LEB128 sem sinal) ----------
+    static int putVarLong(byte[] dst, int pos, long v) {
+        while ((v & ~0x7FL) != 0) {
+            dst[pos++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        dst[pos++] = (byte) v;
+        return pos;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("uso: Replay info|verify <arquivo|diretório>...  |  Replay seek <arquivo> <tick>");
+            System.exit(2);
+        }
+        switch (args[0]) {
+            case "info":
+                for (Path p : collect(args, 1)) {
+                    Replay r = open(p);
+                    System.out.printf("%s: seed=%d ticks=%d score=%d snapshots=%d (a cada %d) bytes=%d%n",
+                        p, r.seed, r.endTick, r.finalScore, r.indexCount, r.snapshotEvery, r.buf.capacity());
+                }
+                break;
+            case "seek": {
+                Replay r = open(Paths.get(args[1]));
+                GameSim sim = r.seek(Long.parseLong(args[2]));
+                System.out.printf("tick=%d score=%d birdY=%d pipes=%d GAP_H=%d inQuiz=%b gameOver=%b%n",
+                    sim.tick, sim.score, sim.birdY, sim.pipes.size, sim.GAP_H, sim.inQuiz, sim.gameOver);
+                break;
+            }
+            case "verify": {
+                List<Path> files = collect(args, 1);
+                AtomicInteger bad = new AtomicInteger();
+                long t0 = System.nanoTime();
+                long ticks = files.parallelStream().mapToLong(p -> {
+                    try {
+                        Replay r = open(p);
+                        if (!r.verify()) { bad.incrementAndGet(); System.out.println("FALHOU " + p); }
+                        return r.endTick;
+                    } catch (IOException e) {
+                        bad.incrementAndGet();
+                        System.out.println("ERRO " + p + ": " + e.getMessage());
+                        return 0;
+                    }
+                }).sum();
+                double sec = (System.nanoTime() - t0) / 1e9;
+                System.out.printf("%d replays, %d falhas, %d ticks em %.2f s (%.0f replays/s)%n",
+                    files.size(), bad.get(), ticks, sec, files.size() / sec);
+                if (bad.get() > 0) System.exit(1);
+                break;
+            }
+            default:
+                System.err.println("comando desconhecido: " + args[0]);
+                System.exit(2);
+        }
+    }
+
+    private static List<Path> collect(String[] args, int from) throws IOException {
+        List<Path> out = new ArrayList<>();
+        for (int i = from; i < args.length; i++) {
+            Path p = Paths.get(args[i]);
+            if (Files.isDirectory(p)) {
+                try (Stream<Path> s = Files.list(p)) {
+                    s.filter(f -> f.toString().endsWith(".fpr")).sorted().forEach(out::add);
+                }
+            } else out.add(p);
+        }
+        return out;
+    }
+}
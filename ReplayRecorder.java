@@ -0,0 +1,99 @@
+package FlappyBird;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+// Grava uma partida: semente, config e bits de entrada por tick (só ticks com
+// entrada, delta do tick em varint), mais snapshots completos a cada N ticks.
+// Tudo vai para buffers em memória; o arquivo só é montado em finish().
+final class ReplayRecorder {
+    static final int DEFAULT_SNAPSHOT_EVERY = 600; // 10 s a 60 Hz
+
+    private final int snapshotEvery;
+    private long seed;
+    private GameConfig cfg;
+    private long bankId;
+
+    // Entradas: (tick - tick do evento anterior, bits), ambos varint
+    private byte[] inputs = new byte[4096];
+    private int inputLen;
+    private long lastEventTick;
+
+    // Snapshots e índice {tick, offset do snapshot, offset nas entradas, tick base do delta}
+    private ByteBuffer snaps = ByteBuffer.allocate(64 * 1024);
+    private long[] index = new long[4 * 64];
+    private int indexCount;
+
+    ReplayRecorder() { this(DEFAULT_SNAPSHOT_EVERY); }
+
+    ReplayRecorder(int snapshotEvery) {
+        if (snapshotEvery <= 0) throw new IllegalArgumentException("snapshotEvery must be positive: " + snapshotEvery);
+        this.snapshotEvery = snapshotEvery;
+    }
+
+    // Começa uma gravação nova a partir do estado inicial da simulação
+    void begin(GameSim sim) {
+        seed = sim.seed;
+        cfg = sim.cfg;
+        bankId = sim.bank.id();
+        inputLen = 0;
+        lastEventTick = sim.tick;
+        snaps.clear();
+        indexCount = 0;
+        snapshot(sim);
+    }
+
+    // Chamado antes de sim.step(input)
+    void record(GameSim sim, int input) {
+        long t = sim.tick;
+        if (t % snapshotEvery == 0 && t != index[(indexCount - 1) * 4]) snapshot(sim);
+        if (input != 0) {
+            if (inputs.length - inputLen < 16) inputs = Arrays.copyOf(inputs, inputs.length * 2);
+            inputLen = Replay.putVarLong(inputs, inputLen, t - lastEventTick);
+            inputLen = Replay.putVarLong(inputs, inputLen, input);
+            lastEventTick = t;
+        }
+    }
+
+    private void snapshot(GameSim sim) {
+        int need = sim.stateBytes();
+        if (snaps.remaining() < need) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(snaps.capacity() * 2, snaps.position() + need));
+            snaps.flip();
+            bigger.put(snaps);
+            snaps = bigger;
+        }
+        if (index.length < (indexCount + 1) * 4) index = Arrays.copyOf(index, index.length * 2);
+        int i = indexCount++ * 4;
+        index[i] = sim.tick;
+        index[i + 1] = snaps.position();
+        index[i + 2] = inputLen;
+        index[i + 3] = lastEventTick;
+        sim.writeState(snaps);
+    }
+
+    // Monta a imagem do arquivo (formato descrito em Replay)
+    byte[] finish(GameSim sim) {
+        int headerLen = Replay.HEADER_BYTES;
+        int snapsLen = snaps.position();
+        long inputsOff = headerLen;
+        long snapsOff = inputsOff + inputLen;
+        long indexOff = snapsOff + snapsLen;
+        int total = (int) (indexOff + (long) indexCount * Replay.INDEX_ENTRY_BYTES + Replay.FOOTER_BYTES);
+
+        ByteBuffer b = ByteBuffer.allocate(total);
+        b.putInt(Replay.MAGIC).putShort(Replay.VERSION).putShort((short) 0);
+        b.putLong(seed).putInt(snapshotEvery);
+        cfg.writeTo(b);
+        b.putLong(bankId);
+        b.put(inputs, 0, inputLen);
+        b.put(snaps.array(), 0, snapsLen);
+        for (int i = 0; i < indexCount; i++) {
+            b.putLong(index[i * 4]).putLong(snapsOff + index[i * 4 + 1]);
+            b.putLong(index[i * 4 + 2]).putLong(index[i * 4 + 3]);
+        }
+        b.putLong(inputsOff).putLong(inputLen).putLong(snapsOff).putLong(indexOff);
+        b.putInt(indexCount).putLong(sim.tick).putInt(sim.score).putInt(Replay.MAGIC);
+        return b.array();
+    }
+}
@@ -0,0 +1,655 @@
+package FlappyBird;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+// Placar e estatísticas persistentes: log só-de-acréscimo de partidas terminadas
+// (registros com CRC32C) + índice compactado (top-N e totais por jogador) salvo em
+// segundo plano. Qualquer thread chama submit() sem bloquear: os registros vão para
+// uma fila sem trava e uma única thread grava em lotes, com um force() por lote
+// (group commit). Ao abrir, carrega o índice e reaplica só o fim do log; um
+// registro cortado ou corrompido no fim (queda no meio da escrita) é truncado.
+//
+// Arquivos em <dir>:
+//   runs.log   [u16 tamanho][payload][crc32c de tamanho+payload] por partida
+//   index.dat  magic, versão, offset do log coberto, totais, top-N, jogadores, crc32c
+//
+// Uso: java FlappyBird.ScoreStore top|player|stats <dir> [nome]
+//      java FlappyBird.ScoreStore bench <dir> [--records=2000000] [--writers=4]   (dir novo ou vazio)
+final class ScoreStore implements AutoCloseable {
+    static final int TOP_N = 100;
+    static final int MAX_NAME_BYTES = 64;
+    static final int MAX_PENDING = 1 << 16;
+    private static final int MAX_BATCH = 8192;
+    private static final int INDEX_MAGIC = 0x46535831; // "FSX1"
+    private static final int INDEX_VERSION = 1;
+    private static final long CHECKPOINT_EVERY = 200_000;
+    private static final long CHECKPOINT_NS = 30_000_000_000L;
+
+    // Uma partida terminada (imutável)
+    static final class Run {
+        final String player;
+        final long endedAtMs, seed, ticks;
+        final int score, quizAsked, quizCorrect;
+
+        Run(String player, long endedAtMs, long seed, long ticks, int score, int quizAsked, int quizCorrect) {
+            this.player = clampName(player); this.endedAtMs = endedAtMs; this.seed = seed; this.ticks = ticks;
+            this.score = score; this.quizAsked = quizAsked; this.quizCorrect = quizCorrect;
+        }
+
+        static Run of(String player, GameSim sim) {
+            return new Run(player, System.currentTimeMillis(), sim.seed, sim.tick, sim.score, sim.quizzesAsked(), sim.quizzesCorrect());
+        }
+
+        // Maior score primeiro; empate: quem fez antes
+        boolean beats(Run o) { return score != o.score ? score > o.score : endedAtMs < o.endedAtMs; }
+    }
+
+    // Totais de um jogador (cópia)
+    static final class PlayerStats {
+        final String name;
+        final long runs, totalScore, totalTicks, quizAsked, quizCorrect;
+        final int best;
+        PlayerStats(String name, long runs, int best, long totalScore, long totalTicks, long quizAsked, long quizCorrect) {
+            this.name = name; this.runs = runs; this.best = best; this.totalScore = totalScore;
+            this.totalTicks = totalTicks; this.quizAsked = quizAsked; this.quizCorrect = quizCorrect;
+        }
+    }
+
+    final Path dir;
+    private final Path logPath, indexPath;
+    private final FileChannel log;
+
+    // Fila de entrada (várias threads) -> thread de gravação
+    private final ConcurrentLinkedQueue<Run> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicLong accepted = new AtomicLong(), dropped = new AtomicLong();
+    private volatile long committed, batches;
+    private final Thread writer;
+    private final AtomicBoolean open = new AtomicBoolean(true);
+    private final Object durable = new Object();
+    private volatile IOException failure;
+
+    // Índice (escrito só pela thread de gravação; leituras de jogador sob o lock `index`)
+    private final Object index = new Object();
+    private final HashMap<String, Integer> playerIds = new HashMap<>();
+    private String[] names = new String[1024];
+    private long[] runs = new long[1024], totalScore = new long[1024], totalTicks = new long[1024];
+    private long[] quizAsked = new long[1024], quizCorrect = new long[1024];
+    private int[] best = new int[1024];
+    private int playerCount;
+    private volatile Run[] top = new Run[0];
+    private volatile long totalRuns;
+    private long logEnd, sinceCheckpoint, lastCheckpointNs;
+
+    // Compactação em segundo plano
+    private final Thread compactor;
+    private volatile Checkpoint pendingCheckpoint;
+
+    final long recoveredRuns, truncatedBytes;
+    final double recoveryMs;
+
+    private ScoreStore(Path dir) throws IOException {
+        long t0 = System.nanoTime();
+        this.dir = dir;
+        Files.createDirectories(dir);
+        logPath = dir.resolve("runs.log");
+        indexPath = dir.resolve("index.dat");
+        log = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        long from = loadIndex();
+        long size = log.size();
+        if (from > size) { resetIndex(); from = 0; } // índice à frente do log: reconstrói
+        long[] replayed = {0};
+        long good = scanLog(from, size, r -> { apply(r); replayed[0]++; });
+        truncatedBytes = size - good;
+        if (good < size) { log.truncate(good); log.force(true); }
+        logEnd = good;
+        log.position(good);
+        publishTop();
+        recoveredRuns = replayed[0];
+        recoveryMs = (System.nanoTime() - t0) / 1e6;
+        lastCheckpointNs = System.nanoTime();
+        sinceCheckpoint = recoveredRuns;
+
+        writer = new Thread(this::writeLoop, "ScoreStore-writer");
+        writer.setDaemon(true);
+        compactor = new Thread(this::compactLoop, "ScoreStore-compactor");
+        compactor.setDaemon(true);
+        compactor.setPriority(Thread.MIN_PRIORITY);
+        writer.start();
+        compactor.start();
+    }
+
+    static ScoreStore open(Path dir) throws IOException { return new ScoreStore(dir); }
+
+    // Store compartilhado do JVM: -Dflappy.scoreDir (padrão ~/.flappyparallel/scores); "off" desliga.
+    // Falha ao abrir: segue sem placar (null). Fechado num shutdown hook.
+    static ScoreStore shared() { return Shared.STORE; }
+
+    private static final class Shared {
+        static final ScoreStore STORE = openDefault();
+
+        private static ScoreStore openDefault() {
+            String dir = System.getProperty("flappy.scoreDir", Paths.get(System.getProperty("user.home"), ".flappyparallel", "scores").toString());
+            if (dir.equals("off")) return null;
+            try {
+                ScoreStore s = open(Paths.get(dir));
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try { s.close(); } catch (IOException ignored) {}
+                }, "ScoreStore-shutdown"));
+                return s;
+            } catch (IOException e) {
+                System.err.println("Placar indisponível (" + dir + "): " + e);
+                return null;
+            }
+        }
+    }
+
+    // ---------- Escrita ----------
+    // Não bloqueia: false se a fila estiver cheia ou o store fechado (a partida não é gravada)
+    boolean submit(Run r) {
+        if (!open.get() || accepted.get() - committed >= MAX_PENDING) { dropped.incrementAndGet(); return false; }
+        accepted.incrementAndGet(); // antes do offer: flush() espera por tudo que já está na fila
+        queue.offer(r);
+        LockSupport.unpark(writer);
+        return true;
+    }
+
+    // Espera até tudo que foi aceito antes da chamada estar em disco
+    void flush() throws IOException {
+        long target = accepted.get();
+        synchronized (durable) {
+            while (committed < target && failure == null && writer.isAlive()) {
+                LockSupport.unpark(writer);
+                try { durable.wait(10); } catch (InterruptedException e) { Thread.currentThread().interrupt(); return; }
+            }
+        }
+        if (failure != null) throw failure;
+    }
+
+    private void writeLoop() {
+        ByteBuffer buf = ByteBuffer.allocateDirect(MAX_BATCH * (recordBytesMax()));
+        CRC32C crc = new CRC32C();
+        Run[] batch = new Run[MAX_BATCH];
+        while (true) {
+            int n = 0;
+            Run r;
+            while (n < MAX_BATCH && (r = queue.poll()) != null) batch[n++] = r;
+            if (n == 0) {
+                if (!open.get()) {
+                    while (pendingCheckpoint != null) LockSupport.parkNanos(1_000_000L);
+                    maybeCheckpoint(); // índice final, para reabrir sem reaplicar o log
+                    break;
+                }
+                maybeCheckpoint();
+                LockSupport.parkNanos(2_000_000L);
+                continue;
+            }
+            try {
+                buf.clear();
+                for (int i = 0; i < n; i++) encode(batch[i], buf, crc);
+                buf.flip();
+                while (buf.hasRemaining()) log.write(buf);
+                log.force(false); // um fsync por lote
+            } catch (IOException e) {
+                failure = e;
+                System.err.println("ScoreStore: falha ao gravar " + logPath + ": " + e);
+                open.set(false);
+                break;
+            }
+            synchronized (index) {
+                for (int i = 0; i < n; i++) apply(batch[i]);
+            }
+            publishTop();
+            logEnd = safePosition();
+            sinceCheckpoint += n;
+            committed += n;
+            batches++;
+            Arrays.fill(batch, 0, n, null);
+            synchronized (durable) { durable.notifyAll(); }
+            maybeCheckpoint();
+        }
+        synchronized (durable) { durable.notifyAll(); }
+    }
+
+    private long safePosition() {
+        try { return log.position(); } catch (IOException e) { return logEnd; }
+    }
+
+    private static int recordBytesMax() { return 2 + payloadBytes(MAX_NAME_BYTES) + 4; }
+
+    private static int payloadBytes(int nameLen) { return 8 * 3 + 4 * 3 + 1 + nameLen; }
+
+    private static void encode(Run r, ByteBuffer b, CRC32C crc) {
+        byte[] name = nameBytes(r.player);
+        int start = b.position();
+        b.putShort((short) payloadBytes(name.length));
+        b.putLong(r.endedAtMs).putLong(r.seed).putLong(r.ticks);
+        b.putInt(r.score).putInt(r.quizAsked).putInt(r.quizCorrect);
+        b.put((byte) name.length).put(name);
+        crc.reset();
+        crc.update(b.duplicate().position(start).limit(b.position()));
+        b.putInt((int) crc.getValue());
+    }
+
+    private static byte[] nameBytes(String s) { return s.getBytes(StandardCharsets.UTF_8); }
+
+    // Corta em fronteira de caractere para caber em MAX_NAME_BYTES (o nome em memória é o mesmo do disco)
+    static String clampName(String s) {
+        if (s == null || s.isEmpty()) return "?";
+        while (s.getBytes(StandardCharsets.UTF_8).length > MAX_NAME_BYTES) s = s.substring(0, s.offsetByCodePoints(s.length(), -1));
+        return s;
+    }
+
+    interface RunSink { void accept(Run r); }
+
+    // Lê registros válidos de [from, end); retorna o offset depois do último válido
+    private long scanLog(long from, long end, RunSink sink) throws IOException {
+        CRC32C crc = new CRC32C();
+        ByteBuffer buf = ByteBuffer.allocateDirect(1 << 20);
+        long pos = from;          // início do próximo registro
+        long bufAt = from;        // offset do arquivo de buf[0]
+        buf.limit(0);
+        while (true) {
+            int rel = (int) (pos - bufAt);
+            if (buf.limit() - rel < recordBytesMax()) { // recarrega a janela a partir do registro atual
+                buf.position(rel);
+                buf.compact();
+                bufAt = pos;
+                while (buf.hasRemaining() && log.read(buf, bufAt + buf.position()) > 0) { }
+                buf.flip();
+                rel = 0;
+            }
+            if (buf.limit() - rel < 2) return pos;
+            int len = buf.getShort(rel) & 0xFFFF;
+            if (len < payloadBytes(0) || len > payloadBytes(MAX_NAME_BYTES) || buf.limit() - rel < 2 + len + 4) return pos;
+            crc.reset();
+            crc.update(buf.duplicate().position(rel).limit(rel + 2 + len));
+            if ((int) crc.getValue() != buf.getInt(rel + 2 + len)) return pos;
+            ByteBuffer p = buf.duplicate().position(rel + 2);
+            long endedAt = p.getLong(), seed = p.getLong(), ticks = p.getLong();
+            int score = p.getInt(), asked = p.getInt(), correct = p.getInt();
+            int nameLen = p.get() & 0xFF;
+            if (nameLen != len - payloadBytes(0)) return pos;
+            byte[] name = new byte[nameLen];
+            p.get(name);
+            sink.accept(new Run(new String(name, StandardCharsets.UTF_8), endedAt, seed, ticks, score, asked, correct));
+            pos += 2 + len + 4;
+        }
+    }
+
+    // ---------- Índice ----------
+    private void apply(Run r) {
+        Integer id = playerIds.get(r.player);
+        if (id == null) {
+            id = playerCount++;
+            if (id == names.length) grow();
+            playerIds.put(r.player, id);
+            names[id] = r.player;
+        }
+        int i = id;
+        runs[i]++;
+        if (r.score > best[i] || runs[i] == 1) best[i] = r.score;
+        totalScore[i] += r.score;
+        totalTicks[i] += r.ticks;
+        quizAsked[i] += r.quizAsked;
+        quizCorrect[i] += r.quizCorrect;
+        totalRuns++;
+        insertTop(r);
+    }
+
+    private void grow() {
+        int n = names.length * 2;
+        names = Arrays.copyOf(names, n);
+        runs = Arrays.copyOf(runs, n); totalScore = Arrays.copyOf(totalScore, n); totalTicks = Arrays.copyOf(totalTicks, n);
+        quizAsked = Arrays.copyOf(quizAsked, n); quizCorrect = Arrays.copyOf(quizCorrect, n);
+        best = Arrays.copyOf(best, n);
+    }
+
+    // Top-N em construção (só a thread de gravação); publicado por cópia em publishTop()
+    private Run[] topWork = new Run[TOP_N];
+    private int topSize;
+    private boolean topDirty;
+
+    private void insertTop(Run r) {
+        if (topSize == TOP_N && !r.beats(topWork[TOP_N - 1])) return;
+        int i = Math.min(topSize, TOP_N - 1);
+        if (topSize < TOP_N) topSize++;
+        while (i > 0 && r.beats(topWork[i - 1])) { topWork[i] = topWork[i - 1]; i--; }
+        topWork[i] = r;
+        topDirty = true;
+    }
+
+    private void publishTop() {
+        if (!topDirty) return;
+        top = Arrays.copyOf(topWork, topSize);
+        topDirty = false;
+    }
+
+    private void resetIndex() {
+        synchronized (index) {
+            playerIds.clear();
+            Arrays.fill(names, null);
+            playerCount = 0;
+            Arrays.fill(runs, 0); Arrays.fill(totalScore, 0); Arrays.fill(totalTicks, 0);
+            Arrays.fill(quizAsked, 0); Arrays.fill(quizCorrect, 0); Arrays.fill(best, 0);
+            totalRuns = 0;
+            Arrays.fill(topWork, null);
+            topSize = 0;
+            topDirty = true;
+        }
+    }
+
+    // ---------- Consultas (qualquer thread) ----------
+    // As n melhores partidas; sem trava (array imutável publicado a cada lote)
+    Run[] top(int n) {
+        Run[] t = top;
+        return n >= t.length ? t.clone() : Arrays.copyOf(t, n);
+    }
+
+    Run best() {
+        Run[] t = top;
+        return t.length == 0 ? null : t[0];
+    }
+
+    PlayerStats player(String name) {
+        synchronized (index) {
+            Integer id = playerIds.get(name);
+            if (id == null) return null;
+            int i = id;
+            return new PlayerStats(name, runs[i], best[i], totalScore[i], totalTicks[i], quizAsked[i], quizCorrect[i]);
+        }
+    }
+
+    long totalRuns() { return totalRuns; }
+    int players() { synchronized (index) { return playerCount; } }
+    long committed() { return committed; }
+    long batches() { return batches; }
+    long dropped() { return dropped.get(); }
+
+    // ---------- Checkpoint / compactação ----------
+    // Cópia consistente do índice num ponto do log; serializada fora da thread de gravação
+    private static final class Checkpoint {
+        long logOffset, totalRuns;
+        Run[] top;
+        String[] names;
+        long[] runs, totalScore, totalTicks, quizAsked, quizCorrect;
+        int[] best;
+        int players;
+    }
+
+    private void maybeCheckpoint() {
+        boolean due = sinceCheckpoint >= CHECKPOINT_EVERY
+            || (sinceCheckpoint > 0 && System.nanoTime() - lastCheckpointNs >= CHECKPOINT_NS)
+            || (!open.get() && sinceCheckpoint > 0);
+        if (!due || pendingCheckpoint != null) return;
+        Checkpoint c = new Checkpoint();
+        synchronized (index) {
+            c.logOffset = logEnd;
+            c.totalRuns = totalRuns;
+            c.top = Arrays.copyOf(topWork, topSize);
+            c.players = playerCount;
+            c.names = Arrays.copyOf(names, playerCount);
+            c.runs = Arrays.copyOf(runs, playerCount); c.totalScore = Arrays.copyOf(totalScore, playerCount);
+            c.totalTicks = Arrays.copyOf(totalTicks, playerCount); c.quizAsked = Arrays.copyOf(quizAsked, playerCount);
+            c.quizCorrect = Arrays.copyOf(quizCorrect, playerCount); c.best = Arrays.copyOf(best, playerCount);
+        }
+        sinceCheckpoint = 0;
+        lastCheckpointNs = System.nanoTime();
+        pendingCheckpoint = c;
+        LockSupport.unpark(compactor);
+    }
+
+    private void compactLoop() {
+        while (true) {
+            Checkpoint c = pendingCheckpoint;
+            if (c == null) {
+                if (!open.get() && !writer.isAlive()) return;
+                LockSupport.parkNanos(50_000_000L);
+                continue;
+            }
+            try {
+                writeIndex(c);
+            } catch (IOException e) {
+                System.err.println("ScoreStore: falha ao salvar índice " + indexPath + ": " + e);
+            }
+            pendingCheckpoint = null;
+        }
+    }
+
+    private void writeIndex(Checkpoint c) throws IOException {
+        int size = 4 + 4 + 8 + 8 + 4 + 4 + 4;
+        byte[][] nameBytes = new byte[c.players][];
+        for (int i = 0; i < c.players; i++) {
+            nameBytes[i] = nameBytes(c.names[i]);
+            size += 1 + nameBytes[i].length + 8 * 5 + 4;
+        }
+        byte[][] topNames = new byte[c.top.length][];
+        for (int i = 0; i < c.top.length; i++) {
+            topNames[i] = nameBytes(c.top[i].player);
+            size += 1 + topNames[i].length + 8 * 3 + 4 * 3;
+        }
+        ByteBuffer b = ByteBuffer.allocate(size);
+        b.putInt(INDEX_MAGIC).putInt(INDEX_VERSION).putLong(c.logOffset).putLong(c.totalRuns);
+        b.putInt(c.top.length);
+        for (int i = 0; i < c.top.length; i++) {
+            Run r = c.top[i];
+            b.put((byte) topNames[i].length).put(topNames[i]);
+            b.putLong(r.endedAtMs).putLong(r.seed).putLong(r.ticks).putInt(r.score).putInt(r.quizAsked).putInt(r.quizCorrect);
+        }
+        b.putInt(c.players);
+        for (int i = 0; i < c.players; i++) {
+            b.put((byte) nameBytes[i].length).put(nameBytes[i]);
+            b.putLong(c.runs[i]).putLong(c.totalScore[i]).putLong(c.totalTicks[i]).putLong(c.quizAsked[i]).putLong(c.quizCorrect[i]);
+            b.putInt(c.best[i]);
+        }
+        CRC32C crc = new CRC32C();
+        crc.update(b.array(), 0, b.position());
+        b.putInt((int) crc.getValue());
+
+        // Grava ao lado e troca atomicamente: um índice é sempre o antigo ou o novo inteiro
+        Path tmp = dir.resolve("index.dat.tmp");
+        try (FileChannel ch = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            b.flip();
+            while (b.hasRemaining()) ch.write(b);
+            ch.force(true);
+        }
+        Files.move(tmp, indexPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    // Carrega o índice; retorna o offset do log que ele cobre (0 se ausente/inválido)
+    private long loadIndex() throws IOException {
+        if (!Files.exists(indexPath)) return 0;
+        ByteBuffer b = ByteBuffer.wrap(Files.readAllBytes(indexPath));
+        try {
+            if (b.capacity() < 8 || b.getInt(0) != INDEX_MAGIC || b.getInt(4) != INDEX_VERSION) return 0;
+            CRC32C crc = new CRC32C();
+            crc.update(b.array(), 0, b.capacity() - 4);
+            if ((int) crc.getValue() != b.getInt(b.capacity() - 4)) return 0;
+            b.position(8);
+            long offset = b.getLong();
+            long total = b.getLong();
+            int topCount = b.getInt();
+            for (int i = 0; i < topCount; i++) {
+                String name = readName(b);
+                insertTop(new Run(name, b.getLong(), b.getLong(), b.getLong(), b.getInt(), b.getInt(), b.getInt()));
+            }
+            int players = b.getInt();
+            for (int i = 0; i < players; i++) {
+                String name = readName(b);
+                if (playerCount == names.length) grow();
+                int id = playerCount++;
+                playerIds.put(name, id);
+                names[id] = name;
+                runs[id] = b.getLong(); totalScore[id] = b.getLong(); totalTicks[id] = b.getLong();
+                quizAsked[id] = b.getLong(); quizCorrect[id] = b.getLong(); best[id] = b.getInt();
+            }
+            totalRuns = total;
+            return offset;
+        } catch (RuntimeException e) { // BufferUnderflow etc.: índice ilegível, reconstrói do log
+            resetIndex();
+            return 0;
+        }
+    }
+
+    private static String readName(ByteBuffer b) {
+        byte[] n = new byte[b.get() & 0xFF];
+        b.get(n);
+        return new String(n, StandardCharsets.UTF_8);
+    }
+
+    // Grava o que falta, salva o índice e fecha
+    @Override public void close() throws IOException {
+        if (!open.getAndSet(false)) return;
+        LockSupport.unpark(writer);
+        try {
+            writer.join();
+            LockSupport.unpark(compactor);
+            compactor.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.close();
+        if (failure != null) throw failure;
+    }
+
+    // ---------- CLI / benchmark ----------
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("uso: ScoreStore top|player|stats <dir> [nome]  |  ScoreStore bench <dir> [--records=N] [--writers=N]");
+            System.exit(2);
+        }
+        Path dir = Paths.get(args[1]);
+        switch (args[0]) {
+            case "top":
+                try (ScoreStore s = open(dir)) {
+                    Run[] t = s.top(20);
+                    for (int i = 0; i < t.length; i++) {
+                        System.out.printf("%3d. %-20s %5d  (%.1f s, quiz %d/%d, seed %d)%n", i + 1, t[i].player, t[i].score,
+                            t[i].ticks / 60.0, t[i].quizCorrect, t[i].quizAsked, t[i].seed);
+                    }
+                }
+                break;
+            case "player":
+                try (ScoreStore s = open(dir)) {
+                    PlayerStats p = s.player(args.length > 2 ? args[2] : "");
+                    if (p == null) { System.out.println("jogador não encontrado"); break; }
+                    System.out.printf("%s: %d partidas, recorde %d, média %.2f, quiz %d/%d%n", p.name, p.runs, p.best,
+                        (double) p.totalScore / p.runs, p.quizCorrect, p.quizAsked);
+                }
+                break;
+            case "stats":
+                try (ScoreStore s = open(dir)) {
+                    System.out.printf("%d partidas, %d jogadores; recuperação %.1f ms (%d registros do log, %d bytes truncados)%n",
+                        s.totalRuns(), s.players(), s.recoveryMs, s.recoveredRuns, s.truncatedBytes);
+                }
+                break;
+            case "bench":
+                bench(dir, args);
+                break;
+            default:
+                System.err.println("comando desconhecido: " + args[0]);
+                System.exit(2);
+        }
+    }
+
+    private static void bench(Path dir, String[] args) throws Exception {
+        long records = 2_000_000;
+        int writers = 4;
+        for (String a : args) {
+            if (a.startsWith("--records=")) records = Long.parseLong(a.substring(10));
+            else if (a.startsWith("--writers=")) writers = Integer.parseInt(a.substring(10));
+        }
+        // Só em diretório novo ou vazio: o benchmark nunca apaga nem mistura um placar de verdade
+        if (Files.isDirectory(dir)) {
+            try (Stream<Path> entries = Files.list(dir)) {
+                if (entries.findAny().isPresent()) throw new IllegalArgumentException("bench needs a new or empty directory: " + dir);
+            }
+        } else if (Files.exists(dir)) {
+            throw new IllegalArgumentException("bench needs a new or empty directory: " + dir);
+        }
+
+        // Escrita: N threads "de jogo" submetendo partidas o mais rápido possível
+        ScoreStore s = open(dir);
+        long perWriter = records / writers;
+        List<Thread> threads = new ArrayList<>();
+        LatencyHistogram submitNs = new LatencyHistogram();
+        long t0 = System.nanoTime();
+        for (int w = 0; w < writers; w++) {
+            final int wid = w;
+            Thread t = new Thread(() -> {
+                GameSim.Rng rng = new GameSim.Rng(wid);
+                for (long i = 0; i < perWriter; ) {
+                    Run r = new Run("jogador-" + rng.nextInt(100_000), System.currentTimeMillis(), i, 600 + rng.nextInt(20_000),
+                        rng.nextInt(200), rng.nextInt(20), rng.nextInt(20));
+                    long a = System.nanoTime();
+                    boolean ok = s.submit(r);
+                    submitNs.record(System.nanoTime() - a);
+                    if (ok) i++; else Thread.yield(); // fila cheia: o jogo real descartaria
+                }
+            }, "bench-writer-" + w);
+            threads.add(t);
+            t.start();
+        }
+        for (Thread t : threads) t.join();
+        s.flush();
+        double secs = (System.nanoTime() - t0) / 1e9;
+        long n = s.committed();
+        System.out.printf("escrita   %d registros em %.2f s = %.0f registros/s, %d lotes (%.0f registros/fsync), %.1f MB de log%n",
+            n, secs, n / secs, s.batches(), (double) n / Math.max(1, s.batches()), Files.size(dir.resolve("runs.log")) / 1048576.0);
+        System.out.printf("submit()  %s%n", submitNs.summaryMs());
+
+        // Consultas: top-10 e jogador, em paralelo com nada gravando
+        LatencyHistogram topNs = new LatencyHistogram(), playerNs = new LatencyHistogram();
+        long sink = 0;
+        for (int i = 0; i < 1_000_000; i++) {
+            long a = System.nanoTime();
+            sink += s.top(10).length;
+            topNs.record(System.nanoTime() - a);
+        }
+        for (int i = 0; i < 200_000; i++) {
+            String name = "jogador-" + (i * 7919 % 100_000);
+            long a = System.nanoTime();
+            PlayerStats p = s.player(name);
+            playerNs.record(System.nanoTime() - a);
+            if (p != null) sink += p.runs;
+        }
+        System.out.printf("top(10)   %s  [p50=%d ns]%n", topNs.summaryMs(), topNs.percentile(50));
+        System.out.printf("player()  %s  [p50=%d ns]%n", playerNs.summaryMs(), playerNs.percentile(50));
+        Run best = s.best();
+        s.close();
+
+        // Recuperação: com índice (só o fim do log) e sem índice (log inteiro)
+        try (ScoreStore r = open(dir)) {
+            System.out.printf("reabrir com índice    %.1f ms (%d registros reaplicados)%n", r.recoveryMs, r.recoveredRuns);
+            if (r.totalRuns() != n || r.best().score != best.score) throw new IllegalStateException("index mismatch after reopen");
+        }
+        Files.delete(dir.resolve("index.dat"));
+        try (ScoreStore r = open(dir)) {
+            System.out.printf("reabrir sem índice    %.1f ms (%d registros reaplicados)%n", r.recoveryMs, r.recoveredRuns);
+        }
+        // Queda no meio de um registro: corta os últimos bytes e reabre
+        try (FileChannel ch = FileChannel.open(dir.resolve("runs.log"), StandardOpenOption.WRITE)) { ch.truncate(ch.size() - 7); }
+        try (ScoreStore r = open(dir)) {
+            System.out.printf("log cortado           %d partidas (1 perdida), %d bytes truncados%n", r.totalRuns(), r.truncatedBytes);
+        }
+        if (sink == 0) System.out.println("(consultas sem resultado)");
+    }
+}
@@ -0,0 +1,210 @@
+package FlappyBird;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.EventQueue;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.util.Locale;
+import javax.swing.JFrame;
+import javax.swing.JPanel;
+
+// Mosaico de espectador: G×G partidas ao vivo (bots) numa janela só. As
+// simulações rodam num FixedStepLoop; a cada quadro o MosaicRenderer desenha as
+// miniaturas em paralelo num framebuffer int[] e publica por TripleBuffer, e o
+// EDT faz um único blit. H alterna o mapa de tempo por tile.
+//
+// Uso: java FlappyBird.Spectator [--grid=8] [--cell=160] [--threads=N] [--fps=60] [--bench=segundos]
+//   --bench roda sem janela e imprime tempo de quadro e tempo médio de cada tile
+final class Spectator {
+    final GameConfig cfg;
+    final MosaicRenderer mosaic;
+    final FixedStepLoop loop;
+    private final GameSim[] sims;
+    private final WorldSnapshot[] views;
+    private final int[] gameOverTicks;
+    private final long[] restarts;
+    private final TripleBuffer<MosaicRenderer.Frame> frames;
+    private long seq;
+    volatile boolean running = true;
+    private volatile Runnable onFrame = () -> {};
+
+    // Métricas (thread do laço)
+    final LatencyHistogram renderTime = new LatencyHistogram();
+    final long[] tileTotalNs;
+    long rendered, renderTotalNs;
+
+    Spectator(GameConfig cfg, int grid, int cellW, int threads, int fps) {
+        this.cfg = cfg;
+        int n = grid * grid;
+        this.sims = new GameSim[n];
+        this.views = new WorldSnapshot[n];
+        this.gameOverTicks = new int[n];
+        this.restarts = new long[n];
+        for (int i = 0; i < n; i++) {
+            sims[i] = new GameSim(cfg, GameServer.seedFor(i + 1, 0));
+            views[i] = new WorldSnapshot();
+        }
+        this.mosaic = new MosaicRenderer(grid, grid, cellW, cfg.width, cfg.height, threads);
+        this.frames = new TripleBuffer<>(mosaic::newFrame);
+        this.tileTotalNs = new long[mosaic.tileCount()];
+        this.loop = new FixedStepLoop(cfg.tickHz, fps);
+    }
+
+    void run() {
+        loop.run(() -> running, this::tick, this::frame);
+        mosaic.shutdown();
+    }
+
+    // Um tick em todas as partidas; cada uma reinicia 1 s depois do game over
+    private void tick() {
+        for (int i = 0; i < sims.length; i++) {
+            GameSim s = sims[i];
+            if (!s.gameOver) s.step(Policy.HEURISTIC.input(s));
+            else if (++gameOverTicks[i] >= cfg.tickHz) {
+                gameOverTicks[i] = 0;
+                s.reset(GameServer.seedFor(i + 1, ++restarts[i]));
+            }
+        }
+    }
+
+    private void frame(double alpha) {
+        seq++;
+        for (int i = 0; i < sims.length; i++) views[i].copyFrom(sims[i], seq, alpha);
+        MosaicRenderer.Frame f = frames.writeBuffer();
+        mosaic.render(views, f);
+        renderTime.record(f.renderNs);
+        renderTotalNs += f.renderNs;
+        for (int t = 0; t < tileTotalNs.length; t++) tileTotalNs[t] += f.tileNs[t];
+        rendered++;
+        frames.publish();
+        onFrame.run();
+    }
+
+    // ---------- Janela ----------
+    @SuppressWarnings("serial")
+    private static final class View extends JPanel {
+        private static final int STATUS_H = 22;
+        private final Spectator sp;
+        private final Font font = new Font(Font.MONOSPACED, Font.PLAIN, 12);
+        private final Color heatText = new Color(255, 255, 255, 200);
+        private boolean heatmap;
+        private String status = "";
+        private long statusAt;
+
+        View(Spectator sp) {
+            this.sp = sp;
+            setPreferredSize(new Dimension(sp.mosaic.width, sp.mosaic.height + STATUS_H));
+            setBackground(Color.BLACK);
+            setFocusable(true);
+            addKeyListener(new KeyAdapter() {
+                @Override public void keyPressed(KeyEvent e) {
+                    if (e.getKeyCode() == KeyEvent.VK_H) heatmap = !heatmap;
+                }
+            });
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            super.paintComponent(g);
+            MosaicRenderer.Frame f = sp.frames.acquire();
+            g.drawImage(f.image, 0, 0, null);
+            MosaicRenderer m = sp.mosaic;
+            g.setFont(font);
+            if (heatmap) paintHeatmap((Graphics2D) g, f, m);
+
+            long now = System.nanoTime();
+            if (now - statusAt > 250_000_000L) { // texto refeito 4x/s, não a cada quadro
+                statusAt = now;
+                long max = 0;
+                for (long t : f.tileNs) max = Math.max(max, t);
+                status = String.format(Locale.ROOT, "%d sessões | quadro %.1f ms (%d atrasados) | raster %.2f ms, p99 %.2f ms | tile máx %.3f ms | %d tiles",
+                    sp.sims.length, sp.loop.frameMsAvg(), sp.loop.lateFrames(), f.renderNs / 1e6,
+                    sp.renderTime.percentile(99) / 1e6, max / 1e6, f.tileNs.length);
+            }
+            g.setColor(Color.LIGHT_GRAY);
+            g.drawString(status, 6, m.height + 15);
+        }
+
+        // Cada tile tingido pelo seu tempo no último quadro (vermelho = mais lento)
+        private void paintHeatmap(Graphics2D g, MosaicRenderer.Frame f, MosaicRenderer m) {
+            long max = 1;
+            for (long t : f.tileNs) max = Math.max(max, t);
+            for (int i = 0; i < f.tileNs.length; i++) {
+                int x = (i % m.tilesX) * MosaicRenderer.TILE, y = (i / m.tilesX) * MosaicRenderer.TILE;
+                int a = (int) (160 * f.tileNs[i] / max);
+                g.setColor(new Color(255, 40, 40, a));
+                g.fillRect(x, y, MosaicRenderer.TILE, MosaicRenderer.TILE);
+                g.setColor(heatText);
+                g.drawString(String.format(Locale.ROOT, "%.0f", f.tileNs[i] / 1e3), x + 3, y + 13);
+            }
+        }
+    }
+
+    // ---------- Headless ----------
+    void printBench(double secs) {
+        System.out.printf(Locale.ROOT, "quadros          %d em %.1f s (%.1f fps, %d atrasados, quadro médio %.2f ms)%n",
+            loop.frames(), secs, loop.frames() / secs, loop.lateFrames(), loop.frameMsAvg());
+        System.out.println("raster           " + renderTime.summaryMs());
+        long sum = 0;
+        for (long t : tileTotalNs) sum += t;
+        System.out.printf(Locale.ROOT, "tiles            %d de %dpx, soma %.3f ms/quadro (paralelismo efetivo %.1fx)%n",
+            tileTotalNs.length, MosaicRenderer.TILE, sum / 1e6 / rendered, (double) sum / renderTotalNs);
+        System.out.println("µs médios por tile:");
+        for (int y = 0; y < mosaic.tilesY; y++) {
+            StringBuilder sb = new StringBuilder();
+            for (int x = 0; x < mosaic.tilesX; x++) {
+                sb.append(String.format(Locale.ROOT, "%6.1f", tileTotalNs[y * mosaic.tilesX + x] / 1e3 / rendered));
+            }
+            System.out.println(sb);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int grid = 8, cell = 160, fps = 60, threads = Runtime.getRuntime().availableProcessors();
+        double bench = 0;
+        for (String a : args) {
+            if (a.startsWith("--grid=")) grid = Integer.parseInt(a.substring(7));
+            else if (a.startsWith("--cell=")) cell = Integer.parseInt(a.substring(7));
+            else if (a.startsWith("--fps=")) fps = Integer.parseInt(a.substring(6));
+            else if (a.startsWith("--threads=")) threads = Integer.parseInt(a.substring(10));
+            else if (a.startsWith("--bench=")) bench = Double.parseDouble(a.substring(8));
+            else throw new IllegalArgumentException("unknown option: " + a);
+        }
+        GameConfig cfg = new GameConfig();
+        Spectator sp = new Spectator(cfg, grid, cell, threads, fps);
+        System.out.printf("Spectator: %dx%d sessões, framebuffer %dx%d, %d tiles, %d thread(s)%n",
+            grid, grid, sp.mosaic.width, sp.mosaic.height, sp.mosaic.tileCount(), threads);
+
+        if (bench > 0 || GraphicsEnvironment.isHeadless()) {
+            long secs = (long) ((bench > 0 ? bench : 10) * 1e9), t0 = System.nanoTime();
+            Thread stopper = new Thread(() -> {
+                try { Thread.sleep(secs / 1_000_000); } catch (InterruptedException ignored) {}
+                sp.running = false;
+            });
+            stopper.setDaemon(true);
+            stopper.start();
+            sp.run();
+            sp.printBench((System.nanoTime() - t0) / 1e9);
+            return;
+        }
+
+        EventQueue.invokeAndWait(() -> {
+            JFrame f = new JFrame("FlappyParallel — espectador");
+            f.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            View v = new View(sp);
+            f.setContentPane(v);
+            f.pack();
+            f.setLocationRelativeTo(null);
+            f.setVisible(true);
+            v.requestFocusInWindow();
+            sp.onFrame = v::repaint;
+        });
+        Thread t = new Thread(sp::run, "spectator-loop");
+        t.start();
+    }
+}
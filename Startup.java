@@ -0,0 +1,214 @@
+package FlappyBird;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+// Inicialização rápida. O caminho crítico (EDT) só monta e mostra a janela
+// ("Carregando…"); o resto vai para uma thread de fundo: abrir o placar,
+// registrar JMX/JFR e aquecer o JIT com uma partida curta headless (semente fixa,
+// bot, quiz e game over) desenhada numa imagem fora da tela. A partida começa
+// quando o aquecimento termina (ou no teto dele), sem disputar CPU com ele. Mede o
+// tempo até o primeiro quadro e até o regime estável (STEADY_FRAMES quadros
+// seguidos no ritmo) e imprime o relatório.
+//
+//   -Dflappy.warmupMs=N            teto do aquecimento (padrão 600; 0 desliga)
+//   -Dflappy.startupReport=a.csv   acrescenta uma linha por execução (acompanhar entre versões)
+//   -Dflappy.exitAfterStartup=true sai depois do relatório (execução de treino)
+//
+// Headless: java FlappyBird.Startup   só o aquecimento, com relatório
+//
+// AppCDS (o JVM faz tudo; aqui só a saída da execução de treino e a indicação no
+// relatório). No JDK 17 o arquivo dinâmico exige classpath em JAR:
+//   jar cf flappy.jar -C out .
+//   java -XX:ArchiveClassesAtExit=flappy.jsa -Dflappy.exitAfterStartup=true -cp flappy.jar FlappyBird.FlappyParallel
+//   java -XX:SharedArchiveFile=flappy.jsa -cp flappy.jar FlappyBird.FlappyParallel
+final class Startup {
+    static final long WARMUP_SEED = 0x5EED_F1A9L;
+    static final int STEADY_FRAMES = 60;      // 1 s a 60 fps sem engasgo
+    // Aquecimento: ticks e desenhos suficientes para o C2 compilar os caminhos quentes
+    private static final long WARMUP_TICKS = 40_000;
+    private static final int PAINT_EVERY = 16;
+
+    // Fases do relatório (ms desde o início do JVM)
+    static final int MAIN = 0, FRAME_BUILT = 1, WARMUP_DONE = 2, FIRST_FRAME = 3, STEADY = 4;
+    static final String[] NAMES = {"main", "janela montada", "aquecimento", "primeiro quadro", "regime estável"};
+
+    private static final double[] at = new double[NAMES.length];
+    private static long startMs, mainMs, mainNs;
+    private static volatile boolean begun;
+
+    // Tudo o que não é caminho crítico roda aqui, em ordem
+    private static final ExecutorService BACKGROUND = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "Startup");
+        t.setDaemon(true);
+        t.setPriority(Thread.NORM_PRIORITY - 1);
+        return t;
+    });
+    private static volatile long warmupTicks, warmupFrames;
+
+    // Regime estável (EDT)
+    private static long lastFrameEnd;
+    private static int smooth;
+    private static double smoothSince;
+    private static boolean reported;
+
+    private Startup() {}
+
+    // Primeira linha do main: base de tempo (início do processo, resolução do SO)
+    static void begin() {
+        mainMs = System.currentTimeMillis();
+        mainNs = System.nanoTime();
+        startMs = ProcessHandle.current().info().startInstant().map(Instant::toEpochMilli).orElse(mainMs);
+        begun = true;
+        mark(MAIN);
+    }
+
+    static double nowMs() {
+        return (mainMs - startMs) + (System.nanoTime() - mainNs) / 1e6;
+    }
+
+    static synchronized void mark(int phase) {
+        if (begun && at[phase] == 0) at[phase] = nowMs();
+    }
+
+    static void background(Runnable task) {
+        BACKGROUND.execute(task);
+    }
+
+    static <T> CompletableFuture<T> supply(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, BACKGROUND);
+    }
+
+    // ---------- Aquecimento ----------
+    // Enfileira a partida de aquecimento; o futuro completa quando ela termina
+    static CompletableFuture<Void> startWarmup(int width, int height) {
+        long budgetMs = Long.getLong("flappy.warmupMs", 600);
+        if (budgetMs <= 0) { mark(WARMUP_DONE); return CompletableFuture.completedFuture(null); }
+        return CompletableFuture.runAsync(() -> {
+            try {
+                warmUp(width, height, budgetMs);
+            } catch (RuntimeException e) {
+                System.err.println("Aquecimento interrompido: " + e);
+            }
+            mark(WARMUP_DONE);
+        }, BACKGROUND);
+    }
+
+    // Mesmos caminhos do jogo: step (física, colisão, spawn, quiz), snapshot, dano e desenho
+    private static void warmUp(int width, int height, long budgetMs) {
+        long deadline = System.nanoTime() + budgetMs * 1_000_000L;
+        GameConfig cfg = new GameConfig();
+        cfg.width = width; cfg.height = height;
+        cfg.tickHz = Integer.getInteger("flappy.tickHz", cfg.tickHz);
+        QuestionBank bank = QuestionBank.fromSystemProperty();
+        QuestionBank.applyFilterProperties(cfg, bank);
+        GameSim sim = new GameSim(cfg, bank, WARMUP_SEED);
+
+        FrameRenderer r = new FrameRenderer(width, height);
+        r.validate(null);
+        BufferedImage img = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = img.createGraphics();
+        WorldSnapshot w = new WorldSnapshot();
+        DamageTracker damage = new DamageTracker();
+        long ticks = 0, frames = 0;
+        try {
+            // Primeiro um quadro de cada tipo: o custo único (fontes, cartão do quiz,
+            // cache de sprites) sai do primeiro quiz e do primeiro game over do jogador
+            r.paintWorld(g, w);
+            sim.triggerQuiz();
+            w.copyFrom(sim, 0, 1.0);
+            r.paintQuizOverlay(g, w);
+            sim.step(GameSim.answerInput(sim.correctIdx));
+            r.paintGameOver(g, "GAME OVER", "Recorde: 0");
+
+            // Depois o laço quente, até o JIT compilar tick, snapshot, dano e desenho
+            while (ticks < WARMUP_TICKS && System.nanoTime() < deadline) {
+                if (sim.gameOver) sim.reset(WARMUP_SEED + ticks);
+                sim.step(Policy.HEURISTIC.input(sim));
+                if (++ticks % PAINT_EVERY != 0) continue;
+                w.copyFrom(sim, ticks, 1.0);
+                damage.begin(w, width, height);
+                damage.end();
+                r.paintWorld(g, w);
+                if (w.inQuiz) r.paintQuizOverlay(g, w);
+                frames++;
+            }
+        } finally {
+            g.dispose();
+        }
+        warmupTicks = ticks;
+        warmupFrames = frames;
+    }
+
+    // ---------- Quadros (EDT) ----------
+    // Fim de cada quadro na tela: o primeiro marca FIRST_FRAME; regime estável =
+    // STEADY_FRAMES seguidos com intervalo <= 1,5 período e desenho <= 1/4 do período
+    static void frame(long endNs, long paintNs, long frameNs) {
+        if (!begun || reported) return;
+        mark(FIRST_FRAME);
+        boolean ok = lastFrameEnd != 0 && endNs - lastFrameEnd <= frameNs * 3 / 2 && paintNs <= frameNs / 4;
+        lastFrameEnd = endNs;
+        if (!ok) { smooth = 0; return; }
+        if (smooth++ == 0) smoothSince = nowMs();
+        if (smooth < STEADY_FRAMES) return;
+        reported = true;
+        synchronized (Startup.class) { at[STEADY] = smoothSince; }
+        background(Startup::report);
+    }
+
+    // ---------- Relatório ----------
+    static void report() {
+        double[] t;
+        synchronized (Startup.class) { t = at.clone(); }
+        boolean cds = false;
+        for (String a : ManagementFactory.getRuntimeMXBean().getInputArguments()) {
+            if (a.startsWith("-XX:SharedArchiveFile")) cds = true;
+        }
+        StringBuilder sb = new StringBuilder("---- inicialização (ms desde o início do JVM) ----\n");
+        for (int i = 0; i < NAMES.length; i++) {
+            sb.append(String.format(Locale.ROOT, "%-17s %s%n", NAMES[i], t[i] == 0 ? "—" : String.format(Locale.ROOT, "%8.1f", t[i])));
+        }
+        sb.append(String.format(Locale.ROOT, "aquecimento: %d ticks, %d desenhos | AppCDS: %s | java %s%n",
+            warmupTicks, warmupFrames, cds ? "sim" : "não", System.getProperty("java.version")));
+        System.out.print(sb);
+
+        String csv = System.getProperty("flappy.startupReport");
+        if (csv != null) appendCsv(Paths.get(csv), t, cds);
+        if (Boolean.getBoolean("flappy.exitAfterStartup")) System.exit(0);
+    }
+
+    // data,java,cds,main,janela,aquecimento,primeiro quadro,regime estável,ticks de aquecimento
+    private static void appendCsv(Path file, double[] t, boolean cds) {
+        StringBuilder line = new StringBuilder();
+        line.append(Instant.ofEpochMilli(mainMs)).append(',').append(System.getProperty("java.version")).append(',').append(cds);
+        for (double v : t) line.append(',').append(String.format(Locale.ROOT, "%.1f", v));
+        line.append(',').append(warmupTicks).append('\n');
+        try {
+            boolean header = !Files.exists(file);
+            String text = (header ? "data,java,cds,main_ms,janela_ms,aquecimento_ms,primeiro_quadro_ms,regime_estavel_ms,ticks_aquecimento\n" : "") + line;
+            Files.write(file, text.getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Falha ao gravar relatório de inicialização " + file + ": " + e);
+        }
+    }
+
+    // Só o aquecimento, sem janela: mede o que ele custa e serve de treino para o AppCDS
+    public static void main(String[] args) throws Exception {
+        begin();
+        startWarmup(900, 540).get();
+        report();
+    }
+}
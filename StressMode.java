@@ -0,0 +1,237 @@
+package FlappyBird;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.EventQueue;
+import java.awt.Font;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.GraphicsEnvironment;
+import java.awt.RenderingHints;
+import java.awt.event.KeyAdapter;
+import java.awt.event.KeyEvent;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.swing.JFrame;
+import javax.swing.JPanel;
+
+// Janela e benchmark do modo estresse (StressWorld). A janela roda o mundo num
+// FixedStepLoop e publica só as entidades visíveis por TripleBuffer; o EDT
+// desenha esse recorte. O benchmark mede o custo por entidade de 10 a 100k.
+//
+// Uso: java FlappyBird.StressMode [--entities=5000] [--seed=1]     janela (ESPAÇO pula, R reinicia)
+//      java FlappyBird.StressMode --bench [--max=100000]            tabela de custo por entidade
+final class StressMode {
+    private static final com.sun.management.ThreadMXBean THREADS =
+        (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    static volatile long sink; // blackhole
+
+    // Recorte visível do mundo, em coordenadas de tela
+    static final class Frame {
+        int n;
+        final float[] x, y;
+        final int[] size;
+        final boolean[] fragment;
+        float birdY;
+        boolean dead;
+        int score, live, pairsTested, contacts;
+        double tickMs, gridMs, pairsMs;
+
+        Frame(int capacity) {
+            x = new float[capacity]; y = new float[capacity];
+            size = new int[capacity]; fragment = new boolean[capacity];
+        }
+    }
+
+    private final StressWorld world;
+    private final long seed;
+    private final FixedStepLoop loop;
+    private final TripleBuffer<Frame> frames;
+    private final int[] visible;
+    private final AtomicBoolean flap = new AtomicBoolean(), restart = new AtomicBoolean();
+    private volatile Runnable onFrame = () -> {};
+
+    StressMode(GameConfig cfg, int entities, long seed) {
+        this.world = new StressWorld(cfg, entities, seed);
+        this.seed = seed;
+        this.loop = new FixedStepLoop(cfg.tickHz, 60);
+        this.frames = new TripleBuffer<>(() -> new Frame(world.capacity));
+        this.visible = new int[world.capacity];
+    }
+
+    void run() {
+        loop.run(() -> true, this::tick, this::frame);
+    }
+
+    private void tick() {
+        if (restart.getAndSet(false)) world.reset(seed);
+        world.step(flap.getAndSet(false) ? GameSim.IN_FLAP : 0);
+    }
+
+    private void frame(double alpha) {
+        StressWorld w = world;
+        Frame f = frames.writeBuffer();
+        int n = w.cull(StressWorld.VIEW_W, visible);
+        float cam = w.cameraX();
+        for (int k = 0; k < n; k++) {
+            int i = visible[k];
+            float sx = w.x[i] - cam;
+            if (sx < -StressWorld.MAX_SIZE) sx += w.worldW; // do outro lado da emenda
+            f.x[k] = sx; f.y[k] = w.y[i]; f.size[k] = w.size[i]; f.fragment[k] = w.ttl[i] > 0;
+        }
+        f.n = n;
+        f.birdY = w.birdY; f.dead = w.dead; f.score = w.score(); f.live = w.live;
+        f.pairsTested = w.pairsTested; f.contacts = w.contacts;
+        f.tickMs = (w.updateNs + w.gridNs + w.pairsNs + w.birdNs) / 1e6;
+        f.gridMs = w.gridNs / 1e6; f.pairsMs = w.pairsNs / 1e6;
+        frames.publish();
+        onFrame.run();
+    }
+
+    // ---------- Janela ----------
+    @SuppressWarnings("serial")
+    private static final class View extends JPanel {
+        private final StressMode mode;
+        private final int W, H;
+        private final Font font = new Font("Segoe UI", Font.PLAIN, 14);
+        private final Font big = new Font("Segoe UI", Font.BOLD, 24);
+        // Textos do HUD: distância quando muda; contadores e tempos 4x/s, não a cada quadro
+        private int shownScore = -1;
+        private long statsAt;
+        private String scoreText, countText, tickText;
+
+        View(StressMode mode, int w, int h) {
+            this.mode = mode;
+            this.W = w; this.H = h;
+            setPreferredSize(new Dimension(w, h));
+            setFocusable(true);
+            addKeyListener(new KeyAdapter() {
+                @Override public void keyPressed(KeyEvent e) {
+                    if (e.getKeyCode() == KeyEvent.VK_SPACE) mode.flap.set(true);
+                    else if (e.getKeyCode() == KeyEvent.VK_R) mode.restart.set(true);
+                }
+            });
+        }
+
+        @Override
+        protected void paintComponent(Graphics g) {
+            Graphics2D g2 = (Graphics2D) g;
+            Frame f = mode.frames.acquire();
+            RenderCache.paintBgVector(g2, W, H);
+            for (int k = 0; k < f.n; k++) {
+                int s = f.size[k];
+                g2.setColor(f.fragment[k] ? RenderCache.BIRD_BEAK : RenderCache.PIPE_FILL);
+                g2.fillRect((int) f.x[k], (int) f.y[k], s, s);
+                g2.setColor(RenderCache.PIPE_EDGE);
+                g2.drawRect((int) f.x[k], (int) f.y[k], s, s);
+            }
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            RenderCache.paintBirdVector(g2, GameSim.BIRD_X, (int) f.birdY);
+
+            if (f.score != shownScore) { shownScore = f.score; scoreText = "Distância: " + f.score; }
+            long now = System.nanoTime();
+            if (countText == null || now - statsAt > 250_000_000L) {
+                statsAt = now;
+                countText = String.format(Locale.ROOT, "Entidades: %d | visíveis: %d | pares testados: %d | contatos: %d",
+                    f.live, f.n, f.pairsTested, f.contacts);
+                tickText = String.format(Locale.ROOT, "Tick: %.2f ms (grade %.2f, pares %.2f)", f.tickMs, f.gridMs, f.pairsMs);
+            }
+            g2.setColor(Color.WHITE);
+            g2.setFont(big);
+            g2.drawString(scoreText, 20, 40);
+            g2.setFont(font);
+            g2.drawString(countText, 20, 66);
+            g2.drawString(tickText, 20, 86);
+            if (f.dead) {
+                g2.setFont(big);
+                QuizCard.drawCentered(g2, "GAME OVER — tecle R para reiniciar", W, H / 2);
+            }
+        }
+    }
+
+    // ---------- Benchmark ----------
+    // Mundo com densidade fixa; custo médio por entidade viva em cada fase do tick.
+    // O(n²) = mesma contagem de contatos sem grade, para comparação (até 10k); as
+    // duas contagens têm de bater, senão o benchmark falha.
+    static void bench(int max) {
+        System.out.printf("%8s %8s %9s %9s %9s %9s %9s %10s %8s %12s%n",
+            "N", "vivas", "update", "grade", "pares", "bird", "total", "pares/ent", "B/tick", "O(n²)");
+        System.out.printf("%8s %8s %49s %10s %8s %12s%n", "", "", "(ns por entidade por tick)", "", "", "(ns/ent)");
+        for (long n = 10; n <= max; n *= 10) benchRow((int) n);
+    }
+
+    private static void benchRow(int n) {
+        StressWorld w = new StressWorld(new GameConfig(), n, 42);
+        w.invulnerable = true;
+        int ticks = (int) Math.max(300, Math.min(20_000, 20_000_000L / n));
+        // Aquece além da onda inicial de fragmentos (duas vidas de fragmento)
+        for (int t = 0, warm = Math.max(ticks / 2, 2 * StressWorld.FRAGMENT_TTL); t < warm; t++) w.step(autoInput(w));
+
+        long update = 0, grid = 0, pairs = 0, bird = 0, tested = 0, live = 0;
+        long tid = Thread.currentThread().getId();
+        long a0 = THREADS.getThreadAllocatedBytes(tid);
+        for (int t = 0; t < ticks; t++) {
+            w.step(autoInput(w));
+            update += w.updateNs; grid += w.gridNs; pairs += w.pairsNs; bird += w.birdNs;
+            tested += w.pairsTested; live += w.live;
+        }
+        long bytes = THREADS.getThreadAllocatedBytes(tid) - a0;
+
+        String naive = "-";
+        if (n <= 10_000) {
+            // Contraprova: a grade (com a emenda) acha exatamente os mesmos contatos que a varredura O(n²)
+            int viaGrid = w.gridContacts(), all = w.naiveContacts();
+            if (viaGrid != all) throw new IllegalStateException("grid found " + viaGrid + " contacts, naive scan " + all);
+            int reps = Math.max(3, 20_000_000 / n / n);
+            long found = 0, t0 = System.nanoTime();
+            for (int r = 0; r < reps; r++) found += w.naiveContacts();
+            naive = String.format(Locale.ROOT, "%.1f", (System.nanoTime() - t0) / (double) reps / w.live);
+            sink += found;
+        }
+        double ent = (double) live; // soma de entidades vivas em todos os ticks
+        System.out.printf(Locale.ROOT, "%8d %8d %9.1f %9.1f %9.1f %9.2f %9.1f %10.2f %8d %12s%n",
+            n, live / ticks, update / ent, grid / ent, pairs / ent, bird / ent,
+            (update + grid + pairs + bird) / ent, tested / ent, bytes / ticks, naive);
+    }
+
+    // Mantém o bird no ar (no benchmark ele é invulnerável, mas o chão para a câmera)
+    private static int autoInput(StressWorld w) {
+        return (w.birdY > w.playH * 0.6f && w.birdVel > 0) ? GameSim.IN_FLAP : 0;
+    }
+
+    public static void main(String[] args) throws Exception {
+        int entities = 5000, max = 100_000;
+        long seed = 1;
+        boolean bench = false;
+        for (String a : args) {
+            if (a.equals("--bench")) bench = true;
+            else if (a.startsWith("--entities=")) entities = Integer.parseInt(a.substring(11));
+            else if (a.startsWith("--max=")) max = Integer.parseInt(a.substring(6));
+            else if (a.startsWith("--seed=")) seed = Long.parseLong(a.substring(7));
+            else throw new IllegalArgumentException("unknown option: " + a);
+        }
+        if (bench || GraphicsEnvironment.isHeadless()) {
+            bench(max);
+            return;
+        }
+
+        GameConfig cfg = new GameConfig();
+        StressMode mode = new StressMode(cfg, entities, seed);
+        EventQueue.invokeAndWait(() -> {
+            JFrame f = new JFrame("FlappyParallel — modo estresse");
+            f.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
+            f.setResizable(false);
+            View v = new View(mode, cfg.width, cfg.height);
+            f.setContentPane(v);
+            f.pack();
+            f.setLocationRelativeTo(null);
+            f.setVisible(true);
+            v.requestFocusInWindow();
+            mode.onFrame = v::repaint;
+        });
+        Thread t = new Thread(mode::run, "stress-loop");
+        t.setDaemon(true);
+        t.start();
+    }
+}
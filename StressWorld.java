@@ -0,0 +1,300 @@
+package FlappyBird;
+
+// Modo estresse (sem fim): mundo largo que dá a volta, com milhares de obstáculos
+// que andam na horizontal e na vertical, quicam uns nos outros e se partem ao
+// colidir. Toda colisão passa pela UniformGrid (entidade×entidade e
+// bird×entidade) e o desenho só recebe as entidades visíveis (cull). A densidade
+// é fixa: o mundo cresce com o número de entidades, então o custo por entidade
+// não depende de quantas são. A emenda do mundo não existe para a colisão: a grade
+// e os testes de sobreposição dão a volta em x. Sem AWT; determinístico pela
+// semente; o tick não aloca.
+final class StressWorld {
+    static final int CELL = 64;
+    static final int MAX_SIZE = 48, MIN_SIZE = 12;   // MAX_SIZE <= CELL (ver UniformGrid)
+    static final int FRAGMENT_TTL = 240;             // fragmentos somem após 4 s a 60 Hz
+    static final int AREA_PER_ENTITY = 2 * CELL * CELL;
+    static final float BIRD_SPEED = 3f;
+    static final int VIEW_W = 900;
+
+    final GameConfig cfg;
+    final int target, capacity;
+    final int worldW, playH;
+    final UniformGrid grid;
+    final GameSim.Rng rng = new GameSim.Rng(0);
+    private final double dtScale;
+
+    // Entidades (struct of arrays); slots livres numa pilha
+    final float[] x, y, vx, vy;
+    final int[] size, ttl;         // ttl 0 = permanente
+    final boolean[] alive;
+    private final int[] free;
+    private int freeCount;
+    int hw;                        // slots [0, hw) já usados
+    int live;
+
+    // Bird (x no mundo; a câmera o segue)
+    float birdX, birdY, birdVel;
+    boolean dead;
+    boolean invulnerable;          // benchmark: colisão contada, não fatal
+    long tick, distance;
+    private final int[] nearby = new int[1024];
+
+    // Métricas do último tick
+    long updateNs, gridNs, pairsNs, birdNs;
+    int pairsTested, contacts, splits, birdHits;
+
+    StressWorld(GameConfig cfg, int entities, long seed) {
+        this.cfg = cfg;
+        this.target = entities;
+        this.capacity = 2 * entities + 16;
+        this.playH = cfg.height - GameSim.GROUND_H;
+        int w = Math.max(2 * VIEW_W, (int) Math.min(Integer.MAX_VALUE / 2, (long) entities * AREA_PER_ENTITY / playH));
+        this.worldW = (w + CELL - 1) / CELL * CELL; // colunas inteiras: a grade dá a volta sem sobra
+        this.grid = new UniformGrid(worldW, playH, CELL, capacity);
+        this.dtScale = 60.0 / cfg.tickHz;
+        x = new float[capacity]; y = new float[capacity];
+        vx = new float[capacity]; vy = new float[capacity];
+        size = new int[capacity]; ttl = new int[capacity];
+        alive = new boolean[capacity];
+        free = new int[capacity];
+        reset(seed);
+    }
+
+    void reset(long seed) {
+        rng.setSeed(seed);
+        java.util.Arrays.fill(alive, false);
+        freeCount = 0;
+        for (int i = capacity - 1; i >= 0; i--) free[freeCount++] = i;
+        hw = 0; live = 0;
+        birdX = 0; birdY = playH / 2f; birdVel = 0; dead = false;
+        tick = 0; distance = 0;
+        // Começo sem sobreposição: no máximo uma entidade por célula, espalhadas pelo mundo
+        int cells = grid.cols * grid.rows;
+        for (int k = 0; k < target; k++) {
+            int c = (int) ((long) k * cells / target);
+            int i = spawn();
+            if (i < 0) break;
+            x[i] = (c % grid.cols) * CELL + rng.nextInt(CELL - size[i] + 1);
+            y[i] = clampY((c / grid.cols) * CELL + rng.nextInt(CELL - size[i] + 1), size[i]);
+        }
+    }
+
+    int score() { return (int) (distance / 100); }
+
+    // ---------- Tick ----------
+    void step(int input) {
+        long t0 = System.nanoTime();
+        tick++;
+        if (!dead) {
+            if ((input & GameSim.IN_FLAP) != 0) birdVel = (float) cfg.jumpPower;
+            birdVel += cfg.gravity * dtScale;
+            birdY += birdVel * dtScale;
+            if (birdY < 0) { birdY = 0; birdVel = 0; }
+            if (birdY + GameSim.BIRD_H >= playH) {
+                birdY = playH - GameSim.BIRD_H;
+                if (!invulnerable) dead = true;
+            }
+            birdX = wrap(birdX + BIRD_SPEED);
+            distance += (long) BIRD_SPEED;
+        }
+
+        for (int i = 0, n = hw; i < n; i++) {
+            if (!alive[i]) continue;
+            if (ttl[i] > 0 && --ttl[i] == 0) {
+                kill(i);
+                if (live < target) spawn();
+                continue;
+            }
+            x[i] = wrap(x[i] + vx[i]);
+            float ny = y[i] + vy[i];
+            if (ny < 0) { ny = -ny; vy[i] = -vy[i]; }
+            else if (ny + size[i] > playH) { ny = 2 * (playH - size[i]) - ny; vy[i] = -vy[i]; }
+            y[i] = ny;
+        }
+        long t1 = System.nanoTime();
+        grid.build(x, y, alive, hw);
+        long t2 = System.nanoTime();
+        splits = 0;
+        contacts = pairScan(true);
+        long t3 = System.nanoTime();
+        collideBird();
+        long t4 = System.nanoTime();
+        updateNs = t1 - t0; gridNs = t2 - t1; pairsNs = t3 - t2; birdNs = t4 - t3;
+    }
+
+    private float wrap(float v) {
+        if (v < 0) return v + worldW;
+        if (v >= worldW) return v - worldW;
+        return v;
+    }
+
+    // x de "to" visto de "from" pelo lado mais curto da emenda (pode sair de [0, worldW))
+    private float near(float from, float to) {
+        float d = to - from;
+        if (d > worldW / 2f) d -= worldW;
+        else if (d < -worldW / 2f) d += worldW;
+        return from + d;
+    }
+
+    // ---------- Colisão ----------
+    // Meia vizinhança: a própria célula e as 4 seguintes (direita, baixo-esquerda,
+    // baixo, baixo-direita), com as colunas dando a volta — cada par de células é
+    // visitado uma vez. resolve=false só conta os contatos (contraprova do benchmark).
+    // Devolve o número de contatos
+    private int pairScan(boolean resolve) {
+        pairsTested = 0;
+        int found = 0;
+        int cols = grid.cols, rows = grid.rows;
+        int[] order = grid.order;
+        for (int cy = 0; cy < rows; cy++) {
+            for (int cx = 0; cx < cols; cx++) {
+                int c = cy * cols + cx;
+                int right = cy * cols + grid.nextCol(cx), below = (cy + 1) * cols;
+                int left = grid.prevCol(cx), next = grid.nextCol(cx);
+                for (int k = grid.start(c), e = grid.end(c); k < e; k++) {
+                    int i = order[k];
+                    for (int k2 = k + 1; k2 < e; k2++) found += test(i, order[k2], resolve);
+                    found += against(i, right, resolve);
+                    if (cy + 1 < rows) {
+                        found += against(i, below + left, resolve);
+                        found += against(i, below + cx, resolve);
+                        found += against(i, below + next, resolve);
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    private int against(int i, int c, boolean resolve) {
+        int[] order = grid.order;
+        int found = 0;
+        for (int k = grid.start(c), e = grid.end(c); k < e; k++) found += test(i, order[k], resolve);
+        return found;
+    }
+
+    // 1 se i e j se sobrepõem (e, com resolve, separa e parte o maior)
+    private int test(int i, int j, boolean resolve) {
+        pairsTested++;
+        float xj = near(x[i], x[j]);
+        float ox = Math.min(x[i] + size[i], xj + size[j]) - Math.max(x[i], xj);
+        float oy = Math.min(y[i] + size[i], y[j] + size[j]) - Math.max(y[i], y[j]);
+        if (ox <= 0 || oy <= 0) return 0;
+        if (!resolve) return 1;
+
+        // Separa pelo eixo de menor penetração e troca as velocidades nesse eixo (massas iguais)
+        if (ox < oy) {
+            float d = (x[i] < xj ? -ox : ox) / 2;
+            x[i] = wrap(x[i] + d); x[j] = wrap(x[j] - d);
+            float t = vx[i]; vx[i] = vx[j]; vx[j] = t;
+        } else {
+            float d = (y[i] < y[j] ? -oy : oy) / 2;
+            y[i] = clampY(y[i] + d, size[i]); y[j] = clampY(y[j] - d, size[j]);
+            float t = vy[i]; vy[i] = vy[j]; vy[j] = t;
+        }
+        fragment(size[i] >= size[j] ? i : j);
+        return 1;
+    }
+
+    private float clampY(float v, int s) { return Math.max(0, Math.min(playH - s, v)); }
+
+    // O maior do par, se ainda inteiro, se parte em dois menores que se afastam e
+    // somem depois de FRAGMENT_TTL (fragmento não se parte de novo: sem cascata)
+    private void fragment(int i) {
+        int s = size[i] * 7 / 10;
+        if (s < MIN_SIZE || ttl[i] > 0) return;
+        int j = alloc();
+        if (j < 0) return;
+        size[i] = s; size[j] = s;
+        // Lado a lado na vertical, sem se tocar (senão se partiriam de novo no tick seguinte)
+        x[j] = x[i];
+        y[j] = (y[i] + 2 * s + 1 <= playH) ? y[i] + s + 1 : y[i] - s - 1;
+        float kick = 0.5f + rng.nextInt(100) / 100f;
+        vx[j] = vx[i]; vy[j] = vy[i] + kick; vy[i] -= kick;
+        ttl[i] = ttl[j] = FRAGMENT_TTL;
+        splits++;
+    }
+
+    private void collideBird() {
+        birdHits = 0;
+        if (dead) return;
+        float bx1 = birdX + GameSim.BIRD_W, by1 = birdY + GameSim.BIRD_H;
+        int n = grid.query(birdX, birdY, bx1, by1, nearby, 0);
+        for (int k = 0; k < n; k++) {
+            int i = nearby[k];
+            float xi = near(birdX, x[i]);
+            if (xi < bx1 && birdX < xi + size[i] && y[i] < by1 && birdY < y[i] + size[i]) birdHits++;
+        }
+        if (birdHits > 0 && !invulnerable) dead = true;
+    }
+
+    // ---------- Entidades ----------
+    private int alloc() {
+        if (freeCount == 0) return -1;
+        int i = free[--freeCount];
+        alive[i] = true;
+        if (i >= hw) hw = i + 1;
+        live++;
+        return i;
+    }
+
+    private void kill(int i) {
+        alive[i] = false;
+        free[freeCount++] = i;
+        live--;
+    }
+
+    // Obstáculo novo longe da frente do bird (não nasce na cara dele); -1 = sem slot
+    private int spawn() {
+        int i = alloc();
+        if (i < 0) return -1;
+        int s = 24 + rng.nextInt(MAX_SIZE - 24 + 1);
+        float px = rng.nextInt(worldW);
+        if (worldW > 3 * VIEW_W && Math.floorMod((int) (px - birdX), worldW) < VIEW_W) px = wrap(px + VIEW_W);
+        size[i] = s;
+        ttl[i] = 0;
+        x[i] = px;
+        y[i] = rng.nextInt(playH - s);
+        vx[i] = (rng.nextInt(401) - 200) / 100f;
+        vy[i] = (rng.nextInt(301) - 150) / 100f;
+        return i;
+    }
+
+    // ---------- Desenho ----------
+    // Câmera: começa 140 px antes do bird; pode cruzar a emenda do mundo
+    float cameraX() { return wrap(birdX - GameSim.BIRD_X); }
+
+    // Índices das entidades que aparecem em [cameraX, cameraX + viewW); devolve quantas.
+    // A janela pode cruzar a emenda (a grade dá a volta). Usa a grade do tick:
+    // fragmentos nascidos na colisão só aparecem no tick seguinte
+    int cull(int viewW, int[] out) {
+        float cam = cameraX(), end = cam + viewW;
+        int m = grid.query(cam, 0, end, playH, out, 0);
+        int n = 0;
+        for (int k = 0; k < m; k++) {
+            int i = out[k];
+            float xi = near(cam, x[i]);
+            if (xi < end && cam < xi + size[i]) out[n++] = i;
+        }
+        return n;
+    }
+
+    // ---------- Contraprova (benchmark) ----------
+    // Contatos pela grade no estado atual, sem resolver (reconstrói a grade; sobrescreve pairsTested)
+    int gridContacts() {
+        grid.build(x, y, alive, hw);
+        return pairScan(false);
+    }
+
+    // O(n²): quantos pares se tocam, sem grade, com o mesmo teste (dando a volta na emenda)
+    int naiveContacts() {
+        int found = 0;
+        for (int i = 0; i < hw; i++) {
+            if (!alive[i]) continue;
+            for (int j = i + 1; j < hw; j++) {
+                if (alive[j]) found += test(i, j, false);
+            }
+        }
+        return found;
+    }
+}
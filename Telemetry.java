@@ -0,0 +1,153 @@
+package FlappyBird;
+
+import java.lang.management.ManagementFactory;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanOperationInfo;
+import javax.management.MBeanParameterInfo;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Period;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// Histogramas de latência por fase (-Dflappy.telemetry=true). ENABLED é static final:
+// desligado, o JIT elimina as medições. Ligado, cada medição é um nanoTime + soma
+// atômica num LatencyHistogram (memória fixa, sem alocação).
+// Exporta via JMX (FlappyBird:type=Telemetry) e como evento JFR periódico (flappy.PhaseLatency).
+final class Telemetry {
+    static final boolean ENABLED = Boolean.getBoolean("flappy.telemetry");
+
+    static final int TICK = 0, PAINT = 1, EVENT = 2, INPUT = 3, FRAME = 4, PHOTON = 5;
+    static final String[] NAMES = {"Tick", "Paint", "Event", "Input", "Frame", "Photon"};
+    private static final LatencyHistogram[] PHASES = new LatencyHistogram[NAMES.length];
+    static {
+        for (int i = 0; i < PHASES.length; i++) PHASES[i] = new LatencyHistogram();
+    }
+    private static boolean installed;
+
+    private Telemetry() {}
+
+    static long start() { return ENABLED ? System.nanoTime() : 0L; }
+
+    static void end(int phase, long t0) {
+        if (ENABLED) PHASES[phase].record(System.nanoTime() - t0);
+    }
+
+    static void record(int phase, long ns) {
+        if (ENABLED) PHASES[phase].record(ns);
+    }
+
+    static LatencyHistogram histogram(int phase) { return PHASES[phase]; }
+
+    static void reset() {
+        for (LatencyHistogram h : PHASES) h.reset();
+    }
+
+    // Registra o MBean e o evento JFR (idempotente; não faz nada com a telemetria desligada)
+    static synchronized void install() {
+        if (!ENABLED || installed) return;
+        installed = true;
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(new Bean(), new ObjectName("FlappyBird:type=Telemetry"));
+        } catch (Exception e) {
+            System.err.println("Telemetry: JMX indisponível: " + e);
+        }
+        FlightRecorder.addPeriodicEvent(PhaseLatencyEvent.class, Telemetry::emitJfr);
+    }
+
+    private static void emitJfr() {
+        for (int i = 0; i < PHASES.length; i++) {
+            LatencyHistogram h = PHASES[i];
+            PhaseLatencyEvent ev = new PhaseLatencyEvent();
+            if (!ev.isEnabled()) return;
+            ev.phase = NAMES[i];
+            ev.count = h.count();
+            ev.p50 = h.percentile(50);
+            ev.p99 = h.percentile(99);
+            ev.max = h.max();
+            ev.commit();
+        }
+    }
+
+    // ---------- JFR ----------
+    @Name("flappy.PhaseLatency")
+    @Label("Flappy Phase Latency")
+    @Category("FlappyBird")
+    @Description("Percentis acumulados por fase do laço do jogo")
+    @Period("1 s")
+    @StackTrace(false)
+    static final class PhaseLatencyEvent extends Event {
+        @Label("Phase") String phase;
+        @Label("Count") long count;
+        @Label("p50") @Timespan(Timespan.NANOSECONDS) long p50;
+        @Label("p99") @Timespan(Timespan.NANOSECONDS) long p99;
+        @Label("Max") @Timespan(Timespan.NANOSECONDS) long max;
+    }
+
+    // ---------- JMX ----------
+    // Atributos <Fase>Count, <Fase>P50Us, <Fase>P99Us, <Fase>MaxUs; operação reset()
+    private static final class Bean implements DynamicMBean {
+        private static final String[] STATS = {"Count", "P50Us", "P99Us", "MaxUs"};
+
+        @Override public Object getAttribute(String name) throws AttributeNotFoundException {
+            for (int i = 0; i < NAMES.length; i++) {
+                if (!name.startsWith(NAMES[i])) continue;
+                LatencyHistogram h = PHASES[i];
+                switch (name.substring(NAMES[i].length())) {
+                    case "Count": return h.count();
+                    case "P50Us": return h.percentile(50) / 1000.0;
+                    case "P99Us": return h.percentile(99) / 1000.0;
+                    case "MaxUs": return h.max() / 1000.0;
+                    default: break;
+                }
+            }
+            throw new AttributeNotFoundException(name);
+        }
+
+        @Override public AttributeList getAttributes(String[] names) {
+            AttributeList list = new AttributeList();
+            for (String n : names) {
+                try { list.add(new Attribute(n, getAttribute(n))); } catch (AttributeNotFoundException ignored) {}
+            }
+            return list;
+        }
+
+        @Override public void setAttribute(Attribute attribute) throws AttributeNotFoundException {
+            throw new AttributeNotFoundException("read-only: " + attribute.getName());
+        }
+
+        @Override public AttributeList setAttributes(AttributeList attributes) { return new AttributeList(); }
+
+        @Override public Object invoke(String op, Object[] params, String[] signature) throws ReflectionException {
+            if (!"reset".equals(op)) throw new ReflectionException(new NoSuchMethodException(op), "unknown operation: " + op);
+            reset();
+            return null;
+        }
+
+        @Override public MBeanInfo getMBeanInfo() {
+            MBeanAttributeInfo[] attrs = new MBeanAttributeInfo[NAMES.length * STATS.length];
+            int a = 0;
+            for (String phase : NAMES) {
+                for (String stat : STATS) {
+                    String type = stat.equals("Count") ? "long" : "double";
+                    attrs[a++] = new MBeanAttributeInfo(phase + stat, type, phase + " " + stat, true, false, false);
+                }
+            }
+            MBeanOperationInfo reset = new MBeanOperationInfo("reset", "Zera os histogramas",
+                new MBeanParameterInfo[0], "void", MBeanOperationInfo.ACTION);
+            return new MBeanInfo(Bean.class.getName(), "Latência por fase do FlappyParallel", attrs, null,
+                new MBeanOperationInfo[]{reset}, null);
+        }
+    }
+}
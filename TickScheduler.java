@@ -0,0 +1,99 @@
+package FlappyBird;
+
+import java.util.Arrays;
+
+// Roda de tempo (hashed timer wheel) indexada por tick de jogo.
+// Timers vivem em arrays pré-alocados ligados por índice: agendar, cancelar e
+// disparar não alocam. Eventos do mesmo tick disparam em ordem crescente de
+// código, então o resultado não depende da ordem em que foram agendados.
+final class TickScheduler {
+    interface Handler { void onEvent(int event); }
+
+    private final int mask;
+    private final int[] slotHead;              // primeiro timer de cada slot (-1 = vazio)
+    private final int[] next, event, period;   // por timer
+    private final long[] due;
+    private final int[] firing;                // timers vencidos no tick atual
+    private int freeHead;
+    private long now;                          // último tick processado
+
+    TickScheduler(int wheelSize, int capacity) {
+        if (Integer.bitCount(wheelSize) != 1) throw new IllegalArgumentException("wheelSize must be a power of two: " + wheelSize);
+        mask = wheelSize - 1;
+        slotHead = new int[wheelSize];
+        next = new int[capacity]; event = new int[capacity]; period = new int[capacity];
+        due = new long[capacity];
+        firing = new int[capacity];
+        clear(0);
+    }
+
+    void clear(long tick) {
+        Arrays.fill(slotHead, -1);
+        for (int i = 0; i < next.length; i++) { next[i] = i + 1; event[i] = -1; }
+        next[next.length - 1] = -1;
+        freeHead = 0;
+        now = tick;
+    }
+
+    // Agenda o evento para o tick dueTick (> último processado); period > 0 repete
+    int schedule(long dueTick, int ev, int periodTicks) {
+        if (freeHead < 0) throw new IllegalStateException("timer capacity exhausted");
+        int id = freeHead;
+        freeHead = next[id];
+        event[id] = ev;
+        period[id] = periodTicks;
+        link(id, Math.max(dueTick, now + 1));
+        return id;
+    }
+
+    void cancel(int id) {
+        if (event[id] < 0) return;
+        int slot = (int) (due[id] & mask);
+        if (slotHead[slot] == id) slotHead[slot] = next[id];
+        else {
+            int p = slotHead[slot];
+            while (next[p] != id) p = next[p];
+            next[p] = next[id];
+        }
+        release(id);
+    }
+
+    long due(int id) { return due[id]; }
+
+    // Processa o tick: dispara os timers vencidos e reagenda os periódicos
+    void advance(long tick, Handler h) {
+        now = tick;
+        int slot = (int) (tick & mask);
+        int n = 0;
+        for (int id = slotHead[slot], prev = -1; id >= 0; ) {
+            int nx = next[id];
+            if (due[id] == tick) {
+                if (prev < 0) slotHead[slot] = nx; else next[prev] = nx;
+                // inserção ordenada por código do evento
+                int i = n++;
+                while (i > 0 && event[firing[i - 1]] > event[id]) { firing[i] = firing[i - 1]; i--; }
+                firing[i] = id;
+            } else prev = id;
+            id = nx;
+        }
+        for (int i = 0; i < n; i++) {
+            int id = firing[i];
+            h.onEvent(event[id]);
+            if (period[id] > 0) link(id, tick + period[id]);
+            else release(id);
+        }
+    }
+
+    private void link(int id, long dueTick) {
+        due[id] = dueTick;
+        int slot = (int) (dueTick & mask);
+        next[id] = slotHead[slot];
+        slotHead[slot] = id;
+    }
+
+    private void release(int id) {
+        event[id] = -1;
+        next[id] = freeHead;
+        freeHead = id;
+    }
+}
@@ -0,0 +1,40 @@
+package FlappyBird;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Troca sem trava entre um escritor e um leitor: três buffers pré-alocados.
+// O escritor preenche o seu buffer e troca com o do meio (publish); o leitor
+// troca o seu com o do meio quando há um novo (acquire). Cada lado só toca no
+// buffer que possui, e o leitor sempre vê um buffer completo.
+final class TripleBuffer<T> {
+    private static final int INDEX_MASK = 3;
+    private static final int FRESH = 4; // o buffer do meio ainda não foi lido
+
+    private final Object[] buffers = new Object[3];
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;   // escritor
+    private int front = 2;  // leitor
+
+    TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < 3; i++) buffers[i] = factory.get();
+    }
+
+    // Buffer livre para o escritor preencher
+    @SuppressWarnings("unchecked")
+    T writeBuffer() { return (T) buffers[back]; }
+
+    // Publica o que foi escrito; a escrita volátil do getAndSet ordena o conteúdo antes
+    void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX_MASK;
+    }
+
+    // Último buffer completo publicado (ou o mesmo da chamada anterior)
+    @SuppressWarnings("unchecked")
+    T acquire() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX_MASK;
+        }
+        return (T) buffers[front];
+    }
+}
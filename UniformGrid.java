@@ -0,0 +1,71 @@
+package FlappyBird;
+
+import java.util.Arrays;
+
+// Broadphase em grade uniforme: cada entidade entra na célula do seu canto
+// superior esquerdo (ordenação por contagem, O(n), sem alocar). Como nenhuma
+// entidade é maior que a célula, quem toca uma região está nas células dela ou
+// na coluna/linha anterior. Reconstruída a cada tick. Dá a volta em x (a coluna
+// antes da 0 é a última): worldW deve ser múltiplo de cell.
+final class UniformGrid {
+    final int cell, cols, rows;
+    private final int[] start;   // start[c]..start[c+1] = entidades da célula c em order
+    private final int[] cursor;
+    private final int[] cellOf;
+    final int[] order;
+
+    UniformGrid(int worldW, int worldH, int cell, int capacity) {
+        if (worldW % cell != 0) throw new IllegalArgumentException("world width must be a multiple of the cell: " + worldW);
+        this.cell = cell;
+        this.cols = Math.max(1, (worldW + cell - 1) / cell);
+        this.rows = Math.max(1, (worldH + cell - 1) / cell);
+        this.start = new int[cols * rows + 1];
+        this.cursor = new int[cols * rows];
+        this.cellOf = new int[capacity];
+        this.order = new int[capacity];
+    }
+
+    int cellX(float x) { return Math.max(0, Math.min(cols - 1, (int) x / cell)); }
+    int cellY(float y) { return Math.max(0, Math.min(rows - 1, (int) y / cell)); }
+
+    // Entidades vivas = alive[i]; posições pelo canto superior esquerdo
+    void build(float[] x, float[] y, boolean[] alive, int n) {
+        Arrays.fill(start, 0);
+        for (int i = 0; i < n; i++) {
+            if (!alive[i]) { cellOf[i] = -1; continue; }
+            int c = cellY(y[i]) * cols + cellX(x[i]);
+            cellOf[i] = c;
+            start[c + 1]++;
+        }
+        for (int c = 0; c < cols * rows; c++) start[c + 1] += start[c];
+        System.arraycopy(start, 0, cursor, 0, cols * rows);
+        for (int i = 0; i < n; i++) {
+            int c = cellOf[i];
+            if (c >= 0) order[cursor[c]++] = i;
+        }
+    }
+
+    int cellOf(int i) { return cellOf[i]; }
+    int start(int c) { return start[c]; }
+    int end(int c) { return start[c + 1]; }
+
+    // Coluna vizinha dando a volta
+    int nextCol(int cx) { return cx + 1 == cols ? 0 : cx + 1; }
+    int prevCol(int cx) { return cx == 0 ? cols - 1 : cx - 1; }
+
+    // Acrescenta em out[n..] os candidatos que podem tocar [x0,x1)×[y0,y1) (o teste
+    // exato, também dando a volta, fica com quem chama); x0 e x1 podem passar da
+    // emenda. Devolve o novo total, limitado ao tamanho de out
+    int query(float x0, float y0, float x1, float y1, int[] out, int n) {
+        int cx0 = Math.floorDiv((int) Math.floor(x0) - cell, cell), cx1 = Math.floorDiv((int) Math.floor(x1), cell);
+        if (cx1 - cx0 >= cols) { cx0 = 0; cx1 = cols - 1; }
+        int cy0 = cellY(y0 - cell), cy1 = cellY(y1);
+        for (int cy = cy0; cy <= cy1; cy++) {
+            for (int cx = cx0; cx <= cx1; cx++) {
+                int c = cy * cols + Math.floorMod(cx, cols);
+                for (int k = start[c], e = start[c + 1]; k < e && n < out.length; k++) out[n++] = order[k];
+            }
+        }
+        return n;
+    }
+}
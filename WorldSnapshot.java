@@ -0,0 +1,56 @@
+package FlappyBird;
+
+// Cópia do estado da simulação que o desenho precisa, em arrays pré-alocados.
+// Preenchida pela thread do jogo e publicada por TripleBuffer; o EDT só lê.
+final class WorldSnapshot {
+    long seq;           // nº da publicação (monotônico)
+    long tick;
+    double alpha;       // fração do próximo tick decorrida (interpolação)
+    int score;
+    long lastScoreAtMs;
+    int birdX, birdY, prevBirdY;
+    boolean gameOver, inQuiz;
+    int GAP_H;
+    long inputAtNs;     // carimbo da entrada mais antiga já aplicada e ainda não desenhada (0 = nenhuma)
+
+    // Quiz (Question é imutável; as alternativas são só referências)
+    Question question;
+    final String[] options = new String[4];
+
+    // Canos, em ordem
+    int pipeCount;
+    final int[] x = new int[GameSim.PIPE_CAPACITY];
+    final int[] lastX = new int[GameSim.PIPE_CAPACITY];
+    final int[] topH = new int[GameSim.PIPE_CAPACITY];
+    final int[] botY = new int[GameSim.PIPE_CAPACITY];
+    final int[] botH = new int[GameSim.PIPE_CAPACITY];
+
+    void copyFrom(GameSim sim, long seq, double alpha) {
+        this.seq = seq;
+        this.alpha = alpha;
+        tick = sim.tick;
+        score = sim.score;
+        lastScoreAtMs = sim.lastScoreAtMs;
+        birdX = sim.birdX; birdY = sim.birdY; prevBirdY = sim.prevBirdY;
+        gameOver = sim.gameOver; inQuiz = sim.inQuiz;
+        GAP_H = sim.GAP_H;
+
+        question = sim.question();
+        for (int i = 0; i < 4; i++) options[i] = (question != null) ? sim.option(i) : "";
+
+        PipeRing p = sim.pipes;
+        int n = p.size;
+        for (int i = 0; i < n; i++) {
+            int k = p.slot(i);
+            x[i] = p.x[k]; lastX[i] = p.lastX[k];
+            topH[i] = p.topH(k); botY[i] = p.botY(k); botH[i] = p.botH(k, sim.H);
+        }
+        pipeCount = n;
+    }
+
+    // Posição entre o tick anterior e o atual; congelada no quiz e no game over
+    int lerp(int prev, int cur) {
+        if (inQuiz || gameOver) return cur;
+        return prev + (int) Math.round((cur - prev) * alpha);
+    }
+}